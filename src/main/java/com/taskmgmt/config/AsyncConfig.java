@@ -1,11 +1,13 @@
 package com.taskmgmt.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
@@ -21,5 +23,76 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+    
+    /**
+     * Password hashing is deliberately CPU-heavy, so it gets its own small pool
+     * and short queue instead of running on request threads. A full queue
+     * rejects immediately rather than letting a login storm pile up.
+     */
+    @Bean(name = "passwordHashExecutor")
+    public ThreadPoolTaskExecutor passwordHashExecutor(
+            @Value("${security.password.hash-threads:0}") int threads,
+            @Value("${security.password.hash-queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("pwhash-");
+        executor.initialize();
+        return executor;
+    }
+    
+    /**
+     * Stats cache warm-up fans out over this pool. When the queue is full the
+     * submitting thread runs the chunk itself, which throttles the fan-out
+     * instead of dropping work.
+     */
+    @Bean(name = "statsWarmupExecutor")
+    public ThreadPoolTaskExecutor statsWarmupExecutor(
+            @Value("${stats.warmup.threads:4}") int threads,
+            @Value("${stats.warmup.queue-capacity:16}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("stats-warmup-");
+        executor.initialize();
+        return executor;
+    }
+    
+    /**
+     * Search index segments are built on this pool at startup. Same
+     * caller-runs throttling as the stats warm-up.
+     */
+    @Bean(name = "indexBuildExecutor")
+    public ThreadPoolTaskExecutor indexBuildExecutor(
+            @Value("${search.rebuild.threads:4}") int threads,
+            @Value("${search.rebuild.queue-capacity:16}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("search-index-");
+        executor.initialize();
+        return executor;
+    }
+    
+    /**
+     * Writes queued SSE board events to subscribers. Each subscriber has at
+     * most one drain task queued or running, so the queue stays bounded by
+     * the subscriber count.
+     */
+    @Bean(name = "sseDispatchExecutor")
+    public ThreadPoolTaskExecutor sseDispatchExecutor(@Value("${sse.dispatch.threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("sse-dispatch-");
+        executor.initialize();
+        return executor;
+    }
 }
 
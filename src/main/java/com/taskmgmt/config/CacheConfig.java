@@ -1,6 +1,7 @@
 package com.taskmgmt.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
@@ -14,7 +15,8 @@ import java.util.concurrent.TimeUnit;
 public class CacheConfig {
     
     @Bean
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(@Value("${cache.project-stats.max-size:10000}") long projectStatsMaxSize,
+                                     @Value("${stats.warmup.interval-ms:21600000}") long statsRefreshIntervalMillis) {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager(
                 "userCache", 
                 "projectCache", 
@@ -26,6 +28,15 @@ public class CacheConfig {
                 .expireAfterWrite(10, TimeUnit.MINUTES)
                 .recordStats());
         
+        // Sized for every active project so warm-up does not evict itself. Changes evict
+        // their project, so the TTL only backstops the periodic refresh: it outlives one
+        // interval, and a failed refresh leaves the entries in place until the next
+        cacheManager.registerCustomCache("projectStatsCache", Caffeine.newBuilder()
+                .maximumSize(projectStatsMaxSize)
+                .expireAfterWrite(2 * statsRefreshIntervalMillis, TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build());
+        
         return cacheManager;
     }
 }
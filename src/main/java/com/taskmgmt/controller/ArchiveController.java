@@ -0,0 +1,38 @@
+package com.taskmgmt.controller;
+
+import com.taskmgmt.dto.ArchivedTask;
+import com.taskmgmt.dto.ArchivedTaskSummary;
+import com.taskmgmt.dto.CursorPage;
+import com.taskmgmt.service.TaskArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Read-only access to archived tasks.
+ */
+@RestController
+@RequestMapping("/api/archive")
+@RequiredArgsConstructor
+@Slf4j
+public class ArchiveController {
+    private final TaskArchiveService taskArchiveService;
+    
+    @GetMapping("/tasks/{taskId}")
+    public ResponseEntity<ArchivedTask> getArchivedTask(@PathVariable Long taskId) {
+        try {
+            return ResponseEntity.ok(taskArchiveService.findArchivedTask(taskId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @GetMapping("/projects/{projectId}/tasks")
+    public ResponseEntity<CursorPage<ArchivedTaskSummary>> getArchivedTasks(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(taskArchiveService.findProjectPage(projectId, cursor, limit));
+    }
+}
@@ -1,5 +1,8 @@
 package com.taskmgmt.controller;
 
+import com.taskmgmt.exception.RateLimitExceededException;
+import com.taskmgmt.security.RateLimiters;
+import com.taskmgmt.security.TokenBucketRateLimiter;
 import com.taskmgmt.service.AuthService;
 import com.taskmgmt.service.AuthService.AuthResult;
 import lombok.Data;
@@ -17,20 +20,40 @@ import javax.validation.constraints.NotBlank;
 @Slf4j
 public class AuthController {
     private final AuthService authService;
+    private final RateLimiters rateLimiters;
     
     @PostMapping("/login")
     public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
         log.info("Login attempt for user: {}", request.getUsername());
         
+        // Per-IP limit is applied in the filter; this one stops guessing on a single account.
+        // The token is taken up front so parallel guesses cannot all pass, and a success returns it.
+        long waitNanos = rateLimiters.acquireLoginByUsername(request.getUsername());
+        if (waitNanos > 0) {
+            throw new RateLimitExceededException("Too many login attempts for this user",
+                    TokenBucketRateLimiter.toRetryAfterSeconds(waitNanos));
+        }
+        
         AuthResult result = authService.authenticate(request.getUsername(), request.getPassword());
         
         if (result.isSuccess()) {
+            rateLimiters.refundLoginByUsername(request.getUsername());
             return ResponseEntity.ok(new LoginResponse(result.getToken(), result.getUser()));
         } else {
             return ResponseEntity.status(401).body(new ErrorResponse(result.getError()));
         }
     }
     
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        authService.logout(authorization.substring(7));
+        return ResponseEntity.noContent().build();
+    }
+    
     @Data
     static class LoginRequest {
         @NotBlank
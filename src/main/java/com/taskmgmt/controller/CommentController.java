@@ -1,5 +1,7 @@
 package com.taskmgmt.controller;
 
+import com.taskmgmt.dto.CommentDTO;
+import com.taskmgmt.dto.CursorPage;
 import com.taskmgmt.model.Comment;
 import com.taskmgmt.model.User;
 import com.taskmgmt.service.CommentService;
@@ -13,7 +15,9 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/comments")
@@ -22,14 +26,36 @@ import java.util.List;
 public class CommentController {
     private final CommentService commentService;
     
+    /**
+     * Active comments on a task, newest first, in keyset pages.
+     */
     @GetMapping("/task/{taskId}")
-    public ResponseEntity<List<Comment>> getCommentsByTask(@PathVariable Long taskId) {
-        List<Comment> comments = commentService.findByTaskId(taskId);
-        return ResponseEntity.ok(comments);
+    public ResponseEntity<CursorPage<CommentDTO>> getCommentsByTask(
+            @PathVariable Long taskId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(commentService.findThread(taskId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    /**
+     * Comment badge counts for a board: taskIds=1,2,3 maps each id to its
+     * active comment count.
+     */
+    @GetMapping("/counts")
+    public ResponseEntity<Map<Long, Long>> getCommentCounts(@RequestParam List<Long> taskIds) {
+        try {
+            return ResponseEntity.ok(commentService.countActiveByTaskIds(taskIds));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     @PostMapping
-    public ResponseEntity<Comment> createComment(
+    public ResponseEntity<CommentDTO> createComment(
             @Valid @RequestBody CreateCommentRequest request,
             @AuthenticationPrincipal User user) {
         
@@ -40,21 +66,21 @@ public class CommentController {
                     user
             );
             
-            return ResponseEntity.status(HttpStatus.CREATED).body(comment);
+            return ResponseEntity.status(HttpStatus.CREATED).body(CommentDTO.fromEntity(comment));
         } catch (IllegalArgumentException | SecurityException e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<Comment> updateComment(
+    public ResponseEntity<CommentDTO> updateComment(
             @PathVariable Long id,
             @Valid @RequestBody UpdateCommentRequest request,
             @AuthenticationPrincipal User user) {
         
         try {
             Comment comment = commentService.updateComment(id, request.getContent(), user);
-            return ResponseEntity.ok(comment);
+            return ResponseEntity.ok(CommentDTO.fromEntity(comment));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         } catch (SecurityException e) {
@@ -79,7 +105,7 @@ public class CommentController {
     
     @Data
     static class CreateCommentRequest {
-        @NotBlank
+        @NotNull
         private Long taskId;
         
         @NotBlank
@@ -0,0 +1,113 @@
+package com.taskmgmt.controller;
+
+import com.taskmgmt.dto.CursorPage;
+import com.taskmgmt.exception.PreconditionFailedException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Strong ETags derived from entity versions.
+ * One entity's tag is "id-version-joined", where joined digests the rows the
+ * body shows columns of besides the entity's own (a project name, an assignee
+ * or owner name), so renaming one of those also changes the tag. A list's tag
+ * is its size, its highest version and a 64-bit digest of every
+ * (id, version, joined) triple, so any change to a listed row changes the tag.
+ */
+final class ETags {
+    
+    private ETags() {
+    }
+    
+    static String of(Long id, Long version, long joined) {
+        return "\"" + id + "-" + (version != null ? version : 0L) + "-" + Long.toHexString(joined) + "\"";
+    }
+    
+    /**
+     * Digest of a joined project's version and a joined user's updatedAt;
+     * users have no version column, but every entity update moves updatedAt.
+     * Either may be null when the body shows no such row.
+     */
+    static long joined(Long projectVersion, LocalDateTime userUpdatedAt) {
+        long hash = mix(projectVersion != null ? projectVersion : -1L);
+        if (userUpdatedAt != null) {
+            hash = mix(hash ^ userUpdatedAt.toEpochSecond(ZoneOffset.UTC));
+            hash = mix(hash ^ userUpdatedAt.getNano());
+        }
+        return hash;
+    }
+    
+    static <T> String ofList(List<T> items, Function<T, Long> idOf, Function<T, Long> versionOf,
+                             ToLongFunction<T> joinedOf) {
+        return digest(items, idOf, versionOf, joinedOf, 0L);
+    }
+    
+    static <T> String ofPage(CursorPage<T> page, Function<T, Long> idOf, Function<T, Long> versionOf,
+                             ToLongFunction<T> joinedOf) {
+        return digest(page.getItems(), idOf, versionOf, joinedOf,
+                page.getNextCursor() != null ? page.getNextCursor() : -1L);
+    }
+    
+    /**
+     * Answers 304 (body is null) when If-None-Match already has the tag;
+     * otherwise the body supplier runs and the response carries the tag.
+     */
+    static <T> ResponseEntity<T> conditional(WebRequest request, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        // checkNotModified has already set the ETag header
+        return ResponseEntity.ok(body.get());
+    }
+    
+    /**
+     * The version an If-Match header requires, or null when there is no
+     * header or it is "*". A tag for another entity or a malformed tag can
+     * never match, so it fails the precondition.
+     */
+    static Long expectedVersion(String ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String prefix = "\"" + id + "-";
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+                // The joined part only tracks what the body shows; the write checks the entity's own version
+                String rest = tag.substring(prefix.length(), tag.length() - 1);
+                int end = rest.indexOf('-');
+                try {
+                    return Long.parseLong(end >= 0 ? rest.substring(0, end) : rest);
+                } catch (NumberFormatException ignored) {
+                    // Fall through to the next tag
+                }
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not identify this resource");
+    }
+    
+    private static <T> String digest(List<T> items, Function<T, Long> idOf, Function<T, Long> versionOf,
+                                     ToLongFunction<T> joinedOf, long salt) {
+        long hash = mix(salt);
+        long maxVersion = 0;
+        for (T item : items) {
+            long version = versionOf.apply(item) != null ? versionOf.apply(item) : 0L;
+            hash = mix(hash ^ idOf.apply(item));
+            hash = mix(hash ^ version);
+            hash = mix(hash ^ joinedOf.applyAsLong(item));
+            maxVersion = Math.max(maxVersion, version);
+        }
+        return "\"" + items.size() + "-" + maxVersion + "-" + Long.toHexString(hash) + "\"";
+    }
+    
+    private static long mix(long h) {
+        h *= 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+}
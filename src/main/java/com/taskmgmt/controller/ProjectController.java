@@ -1,18 +1,30 @@
 package com.taskmgmt.controller;
 
+import com.taskmgmt.dto.ActivityPage;
+import com.taskmgmt.dto.CursorPage;
+import com.taskmgmt.dto.ProjectDTO;
+import com.taskmgmt.dto.ProjectStatsDTO;
+import com.taskmgmt.dto.ProjectSummary;
+import com.taskmgmt.dto.StatusContentionStats;
 import com.taskmgmt.model.Project;
 import com.taskmgmt.model.User;
+import com.taskmgmt.service.ActivityFeedService;
 import com.taskmgmt.service.ProjectService;
+import com.taskmgmt.service.StatusContentionMetrics;
+import com.taskmgmt.service.UserService;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
 import java.util.List;
 
 @RestController
@@ -21,35 +33,78 @@ import java.util.List;
 @Slf4j
 public class ProjectController {
     private final ProjectService projectService;
+    private final StatusContentionMetrics statusContentionMetrics;
+    private final UserService userService;
+    private final ActivityFeedService activityFeedService;
     
     @GetMapping
-    public ResponseEntity<List<Project>> getProjects(@AuthenticationPrincipal User user) {
-        List<Project> projects = projectService.findByUserId(user.getId());
-        return ResponseEntity.ok(projects);
+    public ResponseEntity<List<ProjectDTO>> getProjects(@AuthenticationPrincipal User user, WebRequest request) {
+        List<ProjectDTO> projects = projectService.findByUserId(user.getId());
+        return ETags.conditional(request, ETags.ofList(projects, ProjectDTO::getId, ProjectDTO::getVersion, ProjectController::joined), () -> projects);
     }
     
+    /**
+     * Keyset-paginated project summaries with task totals, for users who
+     * belong to more projects than fit in one response.
+     */
+    @GetMapping("/summaries")
+    public ResponseEntity<CursorPage<ProjectSummary>> getProjectSummaries(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(projectService.findSummaryPage(user.getId(), cursor, limit));
+    }
+    
+    /**
+     * Conditional on If-None-Match: the tag comes from the single-row DTO
+     * projection, so a match is answered without loading the project entity
+     * or serializing a body.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<Project> getProject(@PathVariable Long id) {
+    public ResponseEntity<ProjectDTO> getProject(@PathVariable Long id, WebRequest request) {
         try {
-            Project project = projectService.findById(id);
-            return ResponseEntity.ok(project);
+            ProjectDTO project = projectService.findDtoById(id);
+            return ETags.conditional(request, etag(project), () -> project);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
     }
     
     @GetMapping("/{id}/stats")
-    public ResponseEntity<String> getProjectStats(@PathVariable Long id) {
+    public ResponseEntity<ProjectStatsDTO> getProjectStats(@PathVariable Long id) {
         try {
-            String stats = projectService.getProjectStats(id);
-            return ResponseEntity.ok(stats);
+            return ResponseEntity.ok(projectService.getProjectStats(id));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
     }
     
+    /**
+     * Recent activity across the project's tasks, newest first. The cursor
+     * is opaque: pass back nextCursor from the previous page.
+     */
+    @GetMapping("/{id}/activity")
+    public ResponseEntity<ActivityPage> getActivity(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @AuthenticationPrincipal User user) {
+        try {
+            return ResponseEntity.ok(activityFeedService.findPage(id, cursor, limit, user.getId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+    
+    @GetMapping("/{id}/contention")
+    public ResponseEntity<StatusContentionStats> getStatusContention(@PathVariable Long id) {
+        return ResponseEntity.ok(statusContentionMetrics.snapshot(id));
+    }
+    
     @PostMapping
-    public ResponseEntity<Project> createProject(
+    public ResponseEntity<ProjectDTO> createProject(
             @Valid @RequestBody CreateProjectRequest request,
             @AuthenticationPrincipal User user) {
         
@@ -59,26 +114,30 @@ public class ProjectController {
                     request.getDescription(),
                     user
             );
-            return ResponseEntity.status(HttpStatus.CREATED).body(project);
+            return ResponseEntity.status(HttpStatus.CREATED).body(ProjectDTO.fromEntity(project));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<Project> updateProject(
+    public ResponseEntity<ProjectDTO> updateProject(
             @PathVariable Long id,
             @Valid @RequestBody UpdateProjectRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @AuthenticationPrincipal User user) {
         
+        Long expectedVersion = ETags.expectedVersion(ifMatch, id);
         try {
             Project project = projectService.updateProject(
                     id,
                     request.getName(),
                     request.getDescription(),
-                    user.getId()
+                    user.getId(),
+                    expectedVersion
             );
-            return ResponseEntity.ok(project);
+            ProjectDTO body = ProjectDTO.fromEntity(project);
+            return ResponseEntity.ok().eTag(etag(body)).body(body);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         } catch (SecurityException e) {
@@ -89,13 +148,16 @@ public class ProjectController {
     @PostMapping("/{id}/members")
     public ResponseEntity<Void> addMember(
             @PathVariable Long id,
-            @RequestBody AddMemberRequest request,
+            @Valid @RequestBody AddMemberRequest request,
             @AuthenticationPrincipal User user) {
         
         try {
-            // This would need UserService to fetch the member
-            // Simplified for now - actual implementation would fetch user
+            User member = userService.findById(request.getUserId())
+                    .orElseThrow(() -> new IllegalArgumentException("User not found"));
+            projectService.addMember(id, member, user.getId());
             return ResponseEntity.ok().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
         } catch (SecurityException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
@@ -116,6 +178,14 @@ public class ProjectController {
         }
     }
     
+    private static String etag(ProjectDTO project) {
+        return ETags.of(project.getId(), project.getVersion(), joined(project));
+    }
+    
+    private static long joined(ProjectDTO project) {
+        return ETags.joined(null, project.getOwnerUpdatedAt());
+    }
+    
     @Data
     static class CreateProjectRequest {
         @NotBlank
@@ -131,7 +201,7 @@ public class ProjectController {
     
     @Data
     static class AddMemberRequest {
+        @NotNull
         private Long userId;
     }
 }
-
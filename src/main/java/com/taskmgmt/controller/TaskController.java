@@ -1,21 +1,49 @@
 package com.taskmgmt.controller;
 
+import com.taskmgmt.dto.BulkStatusResult;
+import com.taskmgmt.dto.CursorPage;
+import com.taskmgmt.dto.TaskDTO;
+import com.taskmgmt.dto.TaskFacetCounts;
+import com.taskmgmt.dto.TaskFilter;
+import com.taskmgmt.dto.TaskFilter.DueBucket;
+import com.taskmgmt.dto.TaskImportResult;
+import com.taskmgmt.dto.TaskSearchHit;
+import com.taskmgmt.dto.TaskStatusEventDTO;
 import com.taskmgmt.model.Task;
 import com.taskmgmt.model.Task.TaskPriority;
 import com.taskmgmt.model.Task.TaskStatus;
 import com.taskmgmt.model.User;
+import com.taskmgmt.search.TaskFacetIndex;
+import com.taskmgmt.service.BoardEventService;
+import com.taskmgmt.search.TaskSearchIndex;
+import com.taskmgmt.service.TaskImportService;
 import com.taskmgmt.service.TaskService;
+import com.taskmgmt.service.UserService;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -23,37 +51,175 @@ import java.util.List;
 @Slf4j
 public class TaskController {
     private final TaskService taskService;
+    private final TaskImportService taskImportService;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskFacetIndex taskFacetIndex;
+    private final UserService userService;
+    private final BoardEventService boardEventService;
     
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<List<Task>> getTasksByProject(@PathVariable Long projectId) {
-        List<Task> tasks = taskService.findByProjectId(projectId);
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<CursorPage<TaskDTO>> getTasksByProject(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        
+        try {
+            TaskStatus statusFilter = status != null ? TaskStatus.valueOf(status) : null;
+            TaskPriority priorityFilter = priority != null ? TaskPriority.valueOf(priority) : null;
+            CursorPage<TaskDTO> page = taskService.findProjectPage(projectId, statusFilter, priorityFilter, cursor, limit);
+            return ETags.conditional(request, ETags.ofPage(page, TaskDTO::getId, TaskDTO::getVersion, TaskController::joined), () -> page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Ranked full-text search over the project's task titles, descriptions and comments.
+     * The cursor is the offset of the next page in the ranking.
+     */
+    @GetMapping("/project/{projectId}/search")
+    public ResponseEntity<CursorPage<TaskSearchHit>> searchTasks(
+            @PathVariable Long projectId,
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit,
+            @AuthenticationPrincipal User user) {
+        try {
+            return ResponseEntity.ok(taskSearchIndex.search(projectId, query, cursor, limit, user.getId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+    
+    /**
+     * Board filter. Repeat a parameter to OR values within a facet; different
+     * facets are AND-ed. assignee takes a user id, "me" or "none";
+     * due takes OVERDUE, TODAY, NEXT_7_DAYS, LATER or NONE.
+     */
+    @GetMapping("/project/{projectId}/filter")
+    public ResponseEntity<CursorPage<TaskDTO>> filterTasks(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) List<String> priority,
+            @RequestParam(required = false) List<String> assignee,
+            @RequestParam(required = false) List<String> due,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit,
+            @AuthenticationPrincipal User user) {
+        TaskFilter filter;
+        try {
+            filter = toFilter(status, priority, assignee, due, user);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(taskFacetIndex.filter(projectId, filter, cursor, limit, user.getId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+    
+    /**
+     * Counts per facet value for the same filter parameters as /filter.
+     */
+    @GetMapping("/project/{projectId}/facets")
+    public ResponseEntity<TaskFacetCounts> getFacetCounts(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) List<String> priority,
+            @RequestParam(required = false) List<String> assignee,
+            @RequestParam(required = false) List<String> due,
+            @AuthenticationPrincipal User user) {
+        TaskFilter filter;
+        try {
+            filter = toFilter(status, priority, assignee, due, user);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(taskFacetIndex.facets(projectId, filter, user.getId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
     }
     
+    /**
+     * Server-Sent Events stream of the project's committed task changes.
+     * Event names are the change types; data is a TaskChangeMessage.
+     */
+    @GetMapping(value = "/project/{projectId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamProjectEvents(
+            @PathVariable Long projectId,
+            @AuthenticationPrincipal User user) {
+        try {
+            return ResponseEntity.ok(boardEventService.subscribe(projectId, user));
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+    
+    /**
+     * Conditional on If-None-Match: the tag comes from the single-row DTO
+     * projection, so a match is answered without loading the task entity
+     * or serializing a body.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<Task> getTask(@PathVariable Long id) {
+    public ResponseEntity<TaskDTO> getTask(@PathVariable Long id, WebRequest request) {
+        try {
+            TaskDTO task = taskService.findDtoById(id);
+            return ETags.conditional(request, etag(task), () -> task);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @GetMapping("/{id}/history")
+    public ResponseEntity<CursorPage<TaskStatusEventDTO>> getStatusHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
         try {
-            Task task = taskService.findById(id);
-            return ResponseEntity.ok(task);
+            CursorPage<TaskStatusEventDTO> page = taskService.findStatusHistory(id, cursor, limit);
+            // Events are immutable, so the sequence numbers alone identify the page
+            return ETags.conditional(request, ETags.ofPage(page, TaskStatusEventDTO::getSeq, TaskStatusEventDTO::getSeq, event -> 0L),
+                    () -> page);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
     }
     
     @GetMapping("/my-tasks")
-    public ResponseEntity<List<Task>> getMyTasks(@AuthenticationPrincipal User user) {
-        List<Task> tasks = taskService.findByAssignee(user);
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<CursorPage<TaskDTO>> getMyTasks(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        CursorPage<TaskDTO> page = taskService.findAssigneePage(user.getId(), cursor, limit);
+        return ETags.conditional(request, ETags.ofPage(page, TaskDTO::getId, TaskDTO::getVersion, TaskController::joined), () -> page);
     }
     
     @GetMapping("/overdue")
-    public ResponseEntity<List<Task>> getOverdueTasks(@AuthenticationPrincipal User user) {
-        List<Task> tasks = taskService.findOverdueTasksForUser(user.getId());
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<CursorPage<TaskDTO>> getOverdueTasks(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        CursorPage<TaskDTO> page = taskService.findOverduePage(user.getId(), cursor, limit);
+        return ETags.conditional(request, ETags.ofPage(page, TaskDTO::getId, TaskDTO::getVersion, TaskController::joined), () -> page);
     }
     
     @PostMapping
-    public ResponseEntity<Task> createTask(
+    public ResponseEntity<TaskDTO> createTask(
             @Valid @RequestBody CreateTaskRequest request,
             @AuthenticationPrincipal User user) {
         
@@ -66,21 +232,40 @@ public class TaskController {
                     request.getTitle(),
                     request.getDescription(),
                     priority,
+                    request.getDueDate(),
                     user
             );
             
-            return ResponseEntity.status(HttpStatus.CREATED).body(task);
+            return ResponseEntity.status(HttpStatus.CREATED).body(TaskDTO.fromEntity(task));
         } catch (IllegalArgumentException | SecurityException e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
+    /**
+     * Bulk import. Body is a JSON array of {projectId, title, description, priority, dueDate},
+     * read as a stream; the response has one result per element.
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<TaskImportResult>> importTasks(
+            HttpServletRequest request,
+            @AuthenticationPrincipal User user) throws IOException {
+        
+        try {
+            return ResponseEntity.ok(taskImportService.importTasks(request.getInputStream(), user));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     @PutMapping("/{id}")
-    public ResponseEntity<Task> updateTask(
+    public ResponseEntity<TaskDTO> updateTask(
             @PathVariable Long id,
             @Valid @RequestBody UpdateTaskRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @AuthenticationPrincipal User user) {
         
+        Long expectedVersion = ETags.expectedVersion(ifMatch, id);
         try {
             TaskPriority priority = request.getPriority() != null ? 
                     TaskPriority.valueOf(request.getPriority()) : null;
@@ -90,10 +275,28 @@ public class TaskController {
                     request.getTitle(),
                     request.getDescription(),
                     priority,
-                    user
+                    request.getDueDate(),
+                    user,
+                    expectedVersion
             );
             
-            return ResponseEntity.ok(task);
+            TaskDTO body = TaskDTO.fromEntity(task);
+            return ResponseEntity.ok().eTag(etag(body)).body(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+    
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteTask(
+            @PathVariable Long id,
+            @AuthenticationPrincipal User user) {
+        
+        try {
+            taskService.deleteTask(id, user);
+            return ResponseEntity.noContent().build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         } catch (SecurityException e) {
@@ -102,29 +305,38 @@ public class TaskController {
     }
     
     @PostMapping("/{id}/assign")
-    public ResponseEntity<Task> assignTask(
+    public ResponseEntity<TaskDTO> assignTask(
             @PathVariable Long id,
             @RequestBody AssignTaskRequest request,
             @AuthenticationPrincipal User user) {
         
         try {
-            // Simplified - would need to fetch assignee user
-            return ResponseEntity.ok().build();
+            User assignee = request.getAssigneeId() != null
+                    ? userService.findById(request.getAssigneeId())
+                            .orElseThrow(() -> new IllegalArgumentException("User not found"))
+                    : null;
+            Task task = taskService.assignTask(id, assignee, user);
+            return ResponseEntity.ok(TaskDTO.fromEntity(task));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (SecurityException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
     }
     
     @PostMapping("/{id}/status")
-    public ResponseEntity<Task> updateStatus(
+    public ResponseEntity<TaskDTO> updateStatus(
             @PathVariable Long id,
             @RequestBody UpdateStatusRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @AuthenticationPrincipal User user) {
         
+        Long expectedVersion = ETags.expectedVersion(ifMatch, id);
         try {
             TaskStatus status = TaskStatus.valueOf(request.getStatus());
-            Task task = taskService.updateTaskStatus(id, status, user);
-            return ResponseEntity.ok(task);
+            Task task = taskService.updateTaskStatus(id, status, user, expectedVersion);
+            TaskDTO body = TaskDTO.fromEntity(task);
+            return ResponseEntity.ok().eTag(etag(body)).body(body);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         } catch (SecurityException e) {
@@ -132,15 +344,79 @@ public class TaskController {
         }
     }
     
+    /**
+     * Moves many tasks to one status. Each entry may carry the version the
+     * client last saw; the response reports an outcome per task.
+     */
+    @PostMapping("/bulk/status")
+    public ResponseEntity<List<BulkStatusResult>> bulkUpdateStatus(
+            @Valid @RequestBody BulkStatusRequest request,
+            @AuthenticationPrincipal User user) {
+        
+        try {
+            TaskStatus status = TaskStatus.valueOf(request.getStatus());
+            Map<Long, Long> expectedVersions = new LinkedHashMap<>();
+            for (BulkStatusRequest.Item item : request.getTasks()) {
+                expectedVersions.put(item.getId(), item.getVersion());
+            }
+            return ResponseEntity.ok(taskService.bulkUpdateStatus(expectedVersions, status, user));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    private static TaskFilter toFilter(List<String> statuses, List<String> priorities, List<String> assignees,
+                                       List<String> dueBuckets, User user) {
+        Set<TaskStatus> statusSet = EnumSet.noneOf(TaskStatus.class);
+        if (statuses != null) {
+            statuses.forEach(value -> statusSet.add(TaskStatus.valueOf(value)));
+        }
+        Set<TaskPriority> prioritySet = EnumSet.noneOf(TaskPriority.class);
+        if (priorities != null) {
+            priorities.forEach(value -> prioritySet.add(TaskPriority.valueOf(value)));
+        }
+        Set<Long> assigneeSet = new HashSet<>();
+        if (assignees != null) {
+            for (String value : assignees) {
+                if ("me".equals(value)) {
+                    assigneeSet.add(user.getId());
+                } else if ("none".equals(value)) {
+                    assigneeSet.add(TaskFilter.UNASSIGNED);
+                } else {
+                    assigneeSet.add(Long.valueOf(value));
+                }
+            }
+        }
+        Set<DueBucket> dueSet = EnumSet.noneOf(DueBucket.class);
+        if (dueBuckets != null) {
+            dueBuckets.forEach(value -> dueSet.add(DueBucket.valueOf(value)));
+        }
+        return TaskFilter.builder()
+                .statuses(statusSet)
+                .priorities(prioritySet)
+                .assigneeIds(assigneeSet)
+                .dueBuckets(dueSet)
+                .build();
+    }
+    
+    private static String etag(TaskDTO task) {
+        return ETags.of(task.getId(), task.getVersion(), joined(task));
+    }
+    
+    private static long joined(TaskDTO task) {
+        return ETags.joined(task.getProjectVersion(), task.getAssigneeUpdatedAt());
+    }
+    
     @Data
     static class CreateTaskRequest {
-        @NotBlank
+        @NotNull
         private Long projectId;
         
         @NotBlank
         private String title;
         private String description;
         private String priority;
+        private LocalDateTime dueDate;
     }
     
     @Data
@@ -148,6 +424,7 @@ public class TaskController {
         private String title;
         private String description;
         private String priority;
+        private LocalDateTime dueDate;
     }
     
     @Data
@@ -160,5 +437,21 @@ public class TaskController {
         @NotBlank
         private String status;
     }
+    
+    @Data
+    static class BulkStatusRequest {
+        @NotBlank
+        private String status;
+        
+        @Valid
+        @NotEmpty
+        private List<Item> tasks;
+        
+        @Data
+        static class Item {
+            @NotNull
+            private Long id;
+            private Long version;
+        }
+    }
 }
-
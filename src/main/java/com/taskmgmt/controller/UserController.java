@@ -1,5 +1,6 @@
 package com.taskmgmt.controller;
 
+import com.taskmgmt.dto.UserDTO;
 import com.taskmgmt.model.User;
 import com.taskmgmt.service.UserService;
 import lombok.Data;
@@ -23,24 +24,29 @@ public class UserController {
     private final UserService userService;
     
     @GetMapping("/me")
-    public ResponseEntity<User> getCurrentUser(@AuthenticationPrincipal User user) {
-        return ResponseEntity.ok(user);
+    public ResponseEntity<UserDTO> getCurrentUser(@AuthenticationPrincipal User user) {
+        // The principal may be rebuilt from token claims, so load the full profile
+        return userService.findById(user.getId())
+                .map(UserDTO::fromEntity)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
     
     @GetMapping
-    public ResponseEntity<List<User>> getAllActiveUsers() {
+    public ResponseEntity<List<UserDTO>> getAllActiveUsers() {
         return ResponseEntity.ok(userService.findAllActiveUsers());
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
+    public ResponseEntity<UserDTO> getUserById(@PathVariable Long id) {
         return userService.findById(id)
+                .map(UserDTO::fromEntity)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
     
     @PostMapping
-    public ResponseEntity<User> createUser(@Valid @RequestBody CreateUserRequest request) {
+    public ResponseEntity<UserDTO> createUser(@Valid @RequestBody CreateUserRequest request) {
         try {
             User.UserRole role = request.getRole() != null ? 
                     User.UserRole.valueOf(request.getRole()) : User.UserRole.DEVELOPER;
@@ -53,14 +59,14 @@ public class UserController {
                     role
             );
             
-            return ResponseEntity.status(HttpStatus.CREATED).body(user);
+            return ResponseEntity.status(HttpStatus.CREATED).body(UserDTO.fromEntity(user));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<User> updateUser(
+    public ResponseEntity<UserDTO> updateUser(
             @PathVariable Long id,
             @Valid @RequestBody UpdateUserRequest request,
             @AuthenticationPrincipal User currentUser) {
@@ -72,7 +78,7 @@ public class UserController {
         
         try {
             User updated = userService.updateUser(id, request.getEmail(), request.getFullName());
-            return ResponseEntity.ok(updated);
+            return ResponseEntity.ok(UserDTO.fromEntity(updated));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
@@ -96,6 +102,25 @@ public class UserController {
         }
     }
     
+    @PutMapping("/{id}/role")
+    public ResponseEntity<UserDTO> changeRole(
+            @PathVariable Long id,
+            @Valid @RequestBody ChangeRoleRequest request,
+            @AuthenticationPrincipal User currentUser) {
+        
+        // Only admin can change roles
+        if (!currentUser.getRole().equals(User.UserRole.ADMIN)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        
+        try {
+            User.UserRole role = User.UserRole.valueOf(request.getRole());
+            return ResponseEntity.ok(UserDTO.fromEntity(userService.changeRole(id, role)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     @Data
     static class CreateUserRequest {
         @NotBlank
@@ -112,6 +137,12 @@ public class UserController {
         private String role;
     }
     
+    @Data
+    static class ChangeRoleRequest {
+        @NotBlank
+        private String role;
+    }
+    
     @Data
     static class UpdateUserRequest {
         @Email
@@ -0,0 +1,40 @@
+package com.taskmgmt.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of a project's activity feed. id is the source row's id within
+ * its kind; the kind-specific fields are null for the other kinds.
+ */
+@Data
+@Builder
+public class ActivityItem {
+    private final Kind kind;
+    private final Long id;
+    private final Long taskId;
+    private final String actor;
+    private final LocalDateTime occurredAt;
+    
+    // COMMENT
+    private final String content;
+    
+    // STATUS_CHANGE - fromStatus is null for the creation entry
+    private final String fromStatus;
+    private final String toStatus;
+    
+    // ASSIGNMENT - a null assigneeId is an unassignment
+    private final Long previousAssigneeId;
+    private final Long assigneeId;
+    
+    /**
+     * Declaration order breaks ties between kinds at the same instant.
+     */
+    public enum Kind {
+        COMMENT,
+        STATUS_CHANGE,
+        ASSIGNMENT
+    }
+}
@@ -0,0 +1,15 @@
+package com.taskmgmt.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of a project activity feed, newest first.
+ * nextCursor is passed back as "cursor" for the next page, or null on the last page.
+ */
+@Data
+public class ActivityPage {
+    private final List<ActivityItem> items;
+    private final String nextCursor;
+}
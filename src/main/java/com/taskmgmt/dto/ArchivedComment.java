@@ -0,0 +1,24 @@
+package com.taskmgmt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A comment as stored in the task archive.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedComment {
+    private Long id;
+    private Long taskId;
+    private Long authorId;
+    private String authorUsername;
+    private String content;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Boolean deleted;
+}
@@ -0,0 +1,22 @@
+package com.taskmgmt.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One line of an archive segment: the task with its comments and status history.
+ */
+@Data
+@NoArgsConstructor
+public class ArchivedTask {
+    private TaskDTO task;
+    private List<ArchivedComment> comments = new ArrayList<>();
+    private List<TaskStatusEventDTO> history = new ArrayList<>();
+    
+    public ArchivedTask(TaskDTO task) {
+        this.task = task;
+    }
+}
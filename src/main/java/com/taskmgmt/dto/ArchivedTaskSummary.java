@@ -0,0 +1,21 @@
+package com.taskmgmt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Listing entry for an archived task; the full record comes from the archive lookup.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedTaskSummary {
+    private Long taskId;
+    private Long projectId;
+    private String title;
+    private LocalDateTime completedAt;
+    private LocalDateTime archivedAt;
+}
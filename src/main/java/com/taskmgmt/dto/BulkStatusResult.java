@@ -0,0 +1,20 @@
+package com.taskmgmt.dto;
+
+import lombok.Data;
+
+/**
+ * Outcome of one task in a bulk status transition.
+ */
+@Data
+public class BulkStatusResult {
+    private final Long taskId;
+    private final Outcome outcome;
+    
+    public enum Outcome {
+        UPDATED,
+        UNCHANGED,
+        NOT_FOUND,
+        FORBIDDEN,
+        CONFLICT
+    }
+}
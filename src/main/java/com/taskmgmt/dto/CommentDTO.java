@@ -0,0 +1,49 @@
+package com.taskmgmt.dto;
+
+import com.taskmgmt.model.Comment;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for Comment.
+ * Carries the task and author ids (and the author's name), never the entities.
+ */
+@Data
+@NoArgsConstructor
+public class CommentDTO {
+    private Long id;
+    private Long taskId;
+    private Long authorId;
+    private String authorName;
+    private String content;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    
+    /**
+     * Constructor expression target - argument order must match CommentRepository.COMMENT_DTO_SELECT.
+     */
+    public CommentDTO(Long id, Long taskId, Long authorId, String authorName, String content,
+                      LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.taskId = taskId;
+        this.authorId = authorId;
+        this.authorName = authorName;
+        this.content = content;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+    
+    public static CommentDTO fromEntity(Comment comment) {
+        return new CommentDTO(
+                comment.getId(),
+                comment.getTask().getId(),
+                comment.getAuthor().getId(),
+                comment.getAuthor().getFullName(),
+                comment.getContent(),
+                comment.getCreatedAt(),
+                comment.getUpdatedAt()
+        );
+    }
+}
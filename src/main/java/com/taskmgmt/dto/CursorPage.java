@@ -0,0 +1,28 @@
+package com.taskmgmt.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing.
+ * nextCursor is the key to pass as "cursor" for the next page, or null on the last page.
+ */
+@Data
+public class CursorPage<T> {
+    private final List<T> items;
+    private final Long nextCursor;
+    
+    /**
+     * Builds a page from a query that fetched up to limit + 1 rows;
+     * the extra row only signals that another page exists.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, Long> keyOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, keyOf.apply(items.get(limit - 1)));
+    }
+}
@@ -0,0 +1,68 @@
+package com.taskmgmt.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.taskmgmt.model.Project;
+import com.taskmgmt.model.Project.ProjectStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for Project.
+ * Carries the owner's id and name but never the members or tasks collections.
+ */
+@Data
+@NoArgsConstructor
+public class ProjectDTO {
+    private Long id;
+    private String name;
+    private String description;
+    private String status;
+    private Long ownerId;
+    private String ownerName;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime archivedAt;
+    private Long version;
+    
+    // The owner's name is in the body; users have no version, so this feeds the ETag instead
+    @JsonIgnore
+    private LocalDateTime ownerUpdatedAt;
+    
+    /**
+     * Constructor expression target - argument order must match PROJECT_DTO_SELECT.
+     */
+    public ProjectDTO(Long id, String name, String description, ProjectStatus status,
+                      Long ownerId, String ownerName, LocalDateTime createdAt,
+                      LocalDateTime updatedAt, LocalDateTime archivedAt, Long version,
+                      LocalDateTime ownerUpdatedAt) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.status = status != null ? status.name() : null;
+        this.ownerId = ownerId;
+        this.ownerName = ownerName;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.archivedAt = archivedAt;
+        this.version = version;
+        this.ownerUpdatedAt = ownerUpdatedAt;
+    }
+    
+    public static ProjectDTO fromEntity(Project project) {
+        return new ProjectDTO(
+                project.getId(),
+                project.getName(),
+                project.getDescription(),
+                project.getStatus(),
+                project.getOwner().getId(),
+                project.getOwner().getFullName(),
+                project.getCreatedAt(),
+                project.getUpdatedAt(),
+                project.getArchivedAt(),
+                project.getVersion(),
+                project.getOwner().getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,42 @@
+package com.taskmgmt.dto;
+
+import com.taskmgmt.model.ProjectTaskCount;
+import com.taskmgmt.model.Task.TaskPriority;
+import com.taskmgmt.model.Task.TaskStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Task counts for a project, with every TaskStatus and TaskPriority present
+ * (zero when the project has none).
+ */
+@Data
+@NoArgsConstructor
+public class ProjectStatsDTO {
+    private Long projectId;
+    private long total;
+    private Map<String, Long> byStatus = new LinkedHashMap<>();
+    private Map<String, Long> byPriority = new LinkedHashMap<>();
+    
+    public static ProjectStatsDTO fromCounts(Long projectId, List<ProjectTaskCount> counts) {
+        ProjectStatsDTO dto = new ProjectStatsDTO();
+        dto.setProjectId(projectId);
+        for (TaskStatus status : TaskStatus.values()) {
+            dto.getByStatus().put(status.name(), 0L);
+        }
+        for (TaskPriority priority : TaskPriority.values()) {
+            dto.getByPriority().put(priority.name(), 0L);
+        }
+        
+        for (ProjectTaskCount count : counts) {
+            dto.getByStatus().merge(count.getStatus().name(), count.getTaskCount(), Long::sum);
+            dto.getByPriority().merge(count.getPriority().name(), count.getTaskCount(), Long::sum);
+            dto.setTotal(dto.getTotal() + count.getTaskCount());
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,41 @@
+package com.taskmgmt.dto;
+
+import com.taskmgmt.model.Project.ProjectStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight project row for listings, with task totals taken from the
+ * project_task_counts cells rather than by counting tasks.
+ */
+@Data
+@NoArgsConstructor
+public class ProjectSummary {
+    private Long id;
+    private String name;
+    private String status;
+    private Long ownerId;
+    private String ownerName;
+    private LocalDateTime updatedAt;
+    private Long version;
+    private long taskCount;
+    private long openTaskCount;
+    
+    /**
+     * Constructor expression target - argument order must match PROJECT_SUMMARY_SELECT.
+     */
+    public ProjectSummary(Long id, String name, ProjectStatus status, Long ownerId, String ownerName,
+                          LocalDateTime updatedAt, Long version, Long taskCount, Long openTaskCount) {
+        this.id = id;
+        this.name = name;
+        this.status = status != null ? status.name() : null;
+        this.ownerId = ownerId;
+        this.ownerName = ownerName;
+        this.updatedAt = updatedAt;
+        this.version = version;
+        this.taskCount = taskCount != null ? taskCount : 0L;
+        this.openTaskCount = openTaskCount != null ? openTaskCount : 0L;
+    }
+}
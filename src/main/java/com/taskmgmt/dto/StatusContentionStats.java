@@ -0,0 +1,20 @@
+package com.taskmgmt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Status-update contention on one project since startup.
+ * retries: attempts re-run after losing an optimistic-lock race.
+ * conflicts: updates that still lost after the last retry (409), plus
+ * bulk entries reported as CONFLICT.
+ * collapsed: repeats of a transition the task had already made.
+ */
+@Data
+@AllArgsConstructor
+public class StatusContentionStats {
+    private Long projectId;
+    private long retries;
+    private long conflicts;
+    private long collapsed;
+}
@@ -0,0 +1,21 @@
+package com.taskmgmt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Board change pushed to SSE subscribers. Deliberately small: clients
+ * re-fetch the listed tasks they display rather than receiving full rows.
+ */
+@Data
+@AllArgsConstructor
+public class TaskChangeMessage {
+    private String type;
+    private Long projectId;
+    private List<Long> taskIds;
+    private Long actorId;
+    private LocalDateTime at;
+}
@@ -1,13 +1,22 @@
 package com.taskmgmt.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.taskmgmt.model.Task;
+import com.taskmgmt.model.Task.TaskPriority;
+import com.taskmgmt.model.Task.TaskStatus;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
 
 /**
  * Data Transfer Object for Task.
  * Used for API responses to avoid exposing internal model structure.
+ * Read paths build it directly in JPQL (see TaskRepository.TASK_DTO_SELECT)
+ * so no entity graph is loaded.
  */
 @Data
+@NoArgsConstructor
 public class TaskDTO {
     private Long id;
     private String title;
@@ -18,6 +27,43 @@ public class TaskDTO {
     private String projectName;
     private Long assigneeId;
     private String assigneeName;
+    private LocalDateTime dueDate;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+    private Long version;
+    
+    // Versions of the joined rows whose names the body shows; they only feed the ETag
+    @JsonIgnore
+    private Long projectVersion;
+    @JsonIgnore
+    private LocalDateTime assigneeUpdatedAt;
+    
+    /**
+     * Constructor expression target - argument order must match TASK_DTO_SELECT.
+     */
+    public TaskDTO(Long id, String title, String description, TaskStatus status, TaskPriority priority,
+                   Long projectId, String projectName, Long assigneeId, String assigneeName,
+                   LocalDateTime dueDate, LocalDateTime createdAt, LocalDateTime updatedAt,
+                   LocalDateTime completedAt, Long version, Long projectVersion,
+                   LocalDateTime assigneeUpdatedAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.status = status != null ? status.name() : null;
+        this.priority = priority != null ? priority.name() : null;
+        this.projectId = projectId;
+        this.projectName = projectName;
+        this.assigneeId = assigneeId;
+        this.assigneeName = assigneeName;
+        this.dueDate = dueDate;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.completedAt = completedAt;
+        this.version = version;
+        this.projectVersion = projectVersion;
+        this.assigneeUpdatedAt = assigneeUpdatedAt;
+    }
     
     public static TaskDTO fromEntity(Task task) {
         TaskDTO dto = new TaskDTO();
@@ -28,13 +74,20 @@ public class TaskDTO {
         dto.setPriority(task.getPriority().toString());
         dto.setProjectId(task.getProject().getId());
         dto.setProjectName(task.getProject().getName());
+        dto.setProjectVersion(task.getProject().getVersion());
         
         if (task.getAssignee() != null) {
             dto.setAssigneeId(task.getAssignee().getId());
             dto.setAssigneeName(task.getAssignee().getFullName());
+            dto.setAssigneeUpdatedAt(task.getAssignee().getUpdatedAt());
         }
         
+        dto.setDueDate(task.getDueDate());
+        dto.setCreatedAt(task.getCreatedAt());
+        dto.setUpdatedAt(task.getUpdatedAt());
+        dto.setCompletedAt(task.getCompletedAt());
+        dto.setVersion(task.getVersion());
+        
         return dto;
     }
 }
-
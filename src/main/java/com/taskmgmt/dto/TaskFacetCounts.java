@@ -0,0 +1,25 @@
+package com.taskmgmt.dto;
+
+import com.taskmgmt.dto.TaskFilter.DueBucket;
+import com.taskmgmt.model.Task.TaskPriority;
+import com.taskmgmt.model.Task.TaskStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * Task counts per facet value for a filter. Each facet is counted with the
+ * filters on the other facets applied but not its own, so a board can show
+ * how many tasks each additional choice would add.
+ */
+@Data
+@Builder
+public class TaskFacetCounts {
+    private long total;
+    private Map<TaskStatus, Long> byStatus;
+    private Map<TaskPriority, Long> byPriority;
+    // Key 0 = unassigned
+    private Map<Long, Long> byAssignee;
+    private Map<DueBucket, Long> byDueBucket;
+}
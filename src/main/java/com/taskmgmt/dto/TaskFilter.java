@@ -0,0 +1,40 @@
+package com.taskmgmt.dto;
+
+import com.taskmgmt.model.Task.TaskPriority;
+import com.taskmgmt.model.Task.TaskStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Combined board filter. Values within one facet are OR-ed, facets are
+ * AND-ed; an empty set leaves that facet unfiltered.
+ * Assignee id 0 stands for "unassigned".
+ */
+@Data
+@Builder
+public class TaskFilter {
+    public static final long UNASSIGNED = 0L;
+    
+    @Builder.Default
+    private Set<TaskStatus> statuses = Collections.emptySet();
+    @Builder.Default
+    private Set<TaskPriority> priorities = Collections.emptySet();
+    @Builder.Default
+    private Set<Long> assigneeIds = Collections.emptySet();
+    @Builder.Default
+    private Set<DueBucket> dueBuckets = Collections.emptySet();
+    
+    /**
+     * Due date relative to today, by calendar day.
+     */
+    public enum DueBucket {
+        OVERDUE,
+        TODAY,
+        NEXT_7_DAYS,
+        LATER,
+        NONE
+    }
+}
@@ -0,0 +1,21 @@
+package com.taskmgmt.dto;
+
+import lombok.Data;
+
+/**
+ * Outcome of one bulk import row; index is the row's position in the request array.
+ */
+@Data
+public class TaskImportResult {
+    private final int index;
+    private final Long taskId;
+    private final String error;
+    
+    public static TaskImportResult created(int index, Long taskId) {
+        return new TaskImportResult(index, taskId, null);
+    }
+    
+    public static TaskImportResult failed(int index, String error) {
+        return new TaskImportResult(index, null, error);
+    }
+}
@@ -0,0 +1,17 @@
+package com.taskmgmt.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * One element of the bulk task import array.
+ */
+@Data
+public class TaskImportRow {
+    private Long projectId;
+    private String title;
+    private String description;
+    private String priority;
+    private LocalDateTime dueDate;
+}
@@ -0,0 +1,18 @@
+package com.taskmgmt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One ranked search result. Highlights are short fragments of the task's
+ * title, description or comments with the matched words in &lt;em&gt; tags.
+ */
+@Data
+@AllArgsConstructor
+public class TaskSearchHit {
+    private Long taskId;
+    private double score;
+    private List<String> highlights;
+}
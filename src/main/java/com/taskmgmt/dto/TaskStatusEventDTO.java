@@ -0,0 +1,28 @@
+package com.taskmgmt.dto;
+
+import com.taskmgmt.model.Task.TaskStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of a task's status history.
+ */
+@Data
+@NoArgsConstructor
+public class TaskStatusEventDTO {
+    private Long seq;
+    private String fromStatus;
+    private String toStatus;
+    private LocalDateTime changedAt;
+    private String changedBy;
+    
+    public TaskStatusEventDTO(Long seq, TaskStatus fromStatus, TaskStatus toStatus, LocalDateTime changedAt, String changedBy) {
+        this.seq = seq;
+        this.fromStatus = fromStatus != null ? fromStatus.name() : null;
+        this.toStatus = toStatus != null ? toStatus.name() : null;
+        this.changedAt = changedAt;
+        this.changedBy = changedBy;
+    }
+}
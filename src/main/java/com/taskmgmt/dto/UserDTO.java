@@ -0,0 +1,53 @@
+package com.taskmgmt.dto;
+
+import com.taskmgmt.model.User;
+import com.taskmgmt.model.User.UserRole;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for User.
+ * Leaves out the password hash, session token and relationship collections.
+ */
+@Data
+@NoArgsConstructor
+public class UserDTO {
+    private Long id;
+    private String username;
+    private String email;
+    private String fullName;
+    private String role;
+    private Boolean active;
+    private LocalDateTime createdAt;
+    private LocalDateTime lastLoginAt;
+    
+    /**
+     * Constructor expression target - argument order must match USER_DTO_SELECT.
+     */
+    public UserDTO(Long id, String username, String email, String fullName, UserRole role,
+                   Boolean active, LocalDateTime createdAt, LocalDateTime lastLoginAt) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.fullName = fullName;
+        this.role = role != null ? role.name() : null;
+        this.active = active;
+        this.createdAt = createdAt;
+        this.lastLoginAt = lastLoginAt;
+    }
+    
+    public static UserDTO fromEntity(User user) {
+        return new UserDTO(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getFullName(),
+                user.getRole(),
+                user.getActive(),
+                user.getCreatedAt(),
+                user.getLastLoginAt()
+        );
+    }
+}
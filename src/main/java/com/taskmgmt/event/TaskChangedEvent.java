@@ -0,0 +1,34 @@
+package com.taskmgmt.event;
+
+import lombok.Data;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Published by the task and comment write paths for one or more tasks of a
+ * single project. In-memory views listen with @TransactionalEventListener,
+ * so they only ever see changes that committed.
+ */
+@Data
+public class TaskChangedEvent {
+    private final Type type;
+    private final Long projectId;
+    private final List<Long> taskIds;
+    private final Long actorId;
+    
+    public static TaskChangedEvent of(Type type, Long projectId, Long taskId, Long actorId) {
+        return new TaskChangedEvent(type, projectId, Collections.singletonList(taskId), actorId);
+    }
+    
+    public enum Type {
+        CREATED,
+        UPDATED,
+        STATUS_CHANGED,
+        ASSIGNED,
+        COMMENTED,
+        // A comment was edited or soft-deleted
+        COMMENT_EDITED,
+        DELETED
+    }
+}
@@ -0,0 +1,12 @@
+package com.taskmgmt.exception;
+
+/**
+ * Thrown when an If-Match precondition does not hold because the entity changed
+ * since the client read it. Mapped to 412.
+ */
+public class PreconditionFailedException extends RuntimeException {
+    
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
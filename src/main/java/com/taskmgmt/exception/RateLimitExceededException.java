@@ -0,0 +1,17 @@
+package com.taskmgmt.exception;
+
+/**
+ * Thrown when a caller exceeds a rate limit. Mapped to 429 with Retry-After.
+ */
+public class RateLimitExceededException extends RuntimeException {
+    private final long retryAfterSeconds;
+    
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
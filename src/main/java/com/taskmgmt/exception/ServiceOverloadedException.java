@@ -0,0 +1,18 @@
+package com.taskmgmt.exception;
+
+/**
+ * Thrown when a bounded resource is saturated and the request should be
+ * retried later. Mapped to 503 with a Retry-After header.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+    private final long retryAfterSeconds;
+    
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,48 @@
+package com.taskmgmt.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of the task archiver - a single row, updated in the same
+ * transaction that deletes an archived chunk. committedOffset is where the
+ * current segment file ends as far as the database knows; anything past it
+ * was written by a chunk that never committed and is truncated on resume.
+ */
+@Entity
+@Table(name = "archive_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchiveCheckpoint {
+    public static final long SINGLETON_ID = 1L;
+    
+    @Id
+    private Long id;
+    
+    // Cutoff of the run that last advanced the checkpoint; a rerun with the same cutoff resumes after lastTaskId
+    private LocalDateTime cutoff;
+    
+    @Column(nullable = false)
+    private long lastTaskId;
+    
+    @Column(nullable = false)
+    private int segmentNumber;
+    
+    @Column(nullable = false)
+    private long committedOffset;
+    
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,50 @@
+package com.taskmgmt.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Where an archived task's record lives: the segment file and the byte
+ * offset of the compressed chunk that contains it.
+ */
+@Entity
+@Table(name = "archived_tasks",
+        indexes = @Index(name = "idx_archived_task_project", columnList = "project_id, task_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedTaskEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "archived_task_seq")
+    @SequenceGenerator(name = "archived_task_seq", sequenceName = "archived_task_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "task_id", unique = true, nullable = false)
+    private Long taskId;
+    
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+    
+    private String title;
+    
+    private LocalDateTime completedAt;
+    
+    @Column(nullable = false)
+    private int segmentNumber;
+    
+    @Column(nullable = false)
+    private long segmentOffset;
+    
+    private LocalDateTime archivedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        archivedAt = LocalDateTime.now();
+    }
+}
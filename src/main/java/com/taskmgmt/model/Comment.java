@@ -30,6 +30,10 @@ public class Comment {
     @JoinColumn(name = "author_id", nullable = false)
     private User author;
     
+    // Copied from the task so the project activity feed can page comments by an index
+    @Column(name = "project_id", nullable = false, updatable = false)
+    private Long projectId;
+    
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     
@@ -39,18 +39,20 @@ public class Project {
         joinColumns = @JoinColumn(name = "project_id"),
         inverseJoinColumns = @JoinColumn(name = "user_id")
     )
+    @Builder.Default
     private Set<User> members = new HashSet<>();
     
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Builder.Default
     private Set<Task> tasks = new HashSet<>();
     
+    @Version
+    private Long version;
+    
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private LocalDateTime archivedAt;
     
-    // Cache key for project stats - might be stale
-    private String cachedStats;
-    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
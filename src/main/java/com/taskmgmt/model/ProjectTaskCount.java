@@ -0,0 +1,43 @@
+package com.taskmgmt.model;
+
+import com.taskmgmt.model.Task.TaskPriority;
+import com.taskmgmt.model.Task.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/**
+ * Materialized task count for one (project, status, priority) cell.
+ * Every project has a row per cell from creation, so task writes only ever
+ * UPDATE task_count = task_count + delta inside their own transaction.
+ */
+@Entity
+@Table(name = "project_task_counts",
+        uniqueConstraints = @UniqueConstraint(name = "uk_project_task_count_cell",
+                columnNames = {"project_id", "status", "priority"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectTaskCount {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskStatus status;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskPriority priority;
+    
+    @Column(nullable = false)
+    private long taskCount;
+}
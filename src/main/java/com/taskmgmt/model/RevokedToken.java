@@ -0,0 +1,41 @@
+package com.taskmgmt.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A JWT revoked before its natural expiry.
+ * Only the SHA-256 digest of the token is stored.
+ */
+@Entity
+@Table(name = "revoked_tokens")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(unique = true, nullable = false, length = 64)
+    private String tokenDigest;
+    
+    private Long userId;
+    
+    // Row can be pruned once the token would have expired anyway
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+    
+    private LocalDateTime revokedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        revokedAt = LocalDateTime.now();
+    }
+}
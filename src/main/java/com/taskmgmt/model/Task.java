@@ -17,8 +17,10 @@ import java.util.Set;
 @AllArgsConstructor
 @Builder
 public class Task {
+    // Pooled sequence (not IDENTITY) so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -42,6 +44,7 @@ public class Task {
     private User assignee;
     
     @OneToMany(mappedBy = "task", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Builder.Default
     private Set<Comment> comments = new HashSet<>();
     
     private LocalDateTime createdAt;
@@ -53,10 +56,10 @@ public class Task {
     @Version
     private Long version;
     
-    // Historical state - might not be in sync with current status
-    @ElementCollection
-    @CollectionTable(name = "task_status_history", joinColumns = @JoinColumn(name = "task_id"))
-    private Set<StatusHistoryEntry> statusHistory = new HashSet<>();
+    // seq of the latest TaskStatusEvent; history itself lives in task_status_events
+    @Column(nullable = false)
+    @Builder.Default
+    private Long statusEventSeq = 0L;
     
     @PrePersist
     protected void onCreate() {
@@ -70,12 +73,10 @@ public class Task {
         }
     }
     
+    // completedAt is set by the status transitions (TaskService.updateTaskStatus and the bulk path)
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
-        if (status == TaskStatus.COMPLETED && completedAt == null) {
-            completedAt = LocalDateTime.now();
-        }
     }
     
     public enum TaskStatus {
@@ -85,15 +86,5 @@ public class Task {
     public enum TaskPriority {
         LOW, MEDIUM, HIGH, URGENT
     }
-    
-    @Embeddable
-    @Data
-    @NoArgsConstructor
-    @AllArgsConstructor
-    public static class StatusHistoryEntry {
-        private TaskStatus status;
-        private LocalDateTime changedAt;
-        private String changedBy;
-    }
 }
 
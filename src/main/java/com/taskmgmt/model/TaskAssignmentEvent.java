@@ -0,0 +1,49 @@
+package com.taskmgmt.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One assignment change of a task, for the project activity feed.
+ * Rows are only ever inserted; a null assignee id records an unassignment.
+ */
+@Entity
+@Table(name = "task_assignment_events",
+        indexes = {
+                @Index(name = "idx_task_assignment_event_project", columnList = "project_id, assigned_at, id"),
+                @Index(name = "idx_task_assignment_event_task", columnList = "task_id")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskAssignmentEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_assignment_event_seq")
+    @SequenceGenerator(name = "task_assignment_event_seq", sequenceName = "task_assignment_event_seq", allocationSize = 50)
+    private Long id;
+    
+    // Plain ids rather than associations, as in TaskStatusEvent
+    @Column(name = "task_id", nullable = false, updatable = false)
+    private Long taskId;
+    
+    @Column(name = "project_id", nullable = false, updatable = false)
+    private Long projectId;
+    
+    @Column(updatable = false)
+    private Long previousAssigneeId;
+    
+    @Column(updatable = false)
+    private Long assigneeId;
+    
+    @Column(name = "assigned_at", nullable = false, updatable = false)
+    private LocalDateTime assignedAt;
+    
+    @Column(updatable = false)
+    private String assignedBy;
+}
@@ -0,0 +1,56 @@
+package com.taskmgmt.model;
+
+import com.taskmgmt.model.Task.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One status transition of a task. Rows are only ever inserted.
+ * seq numbers a task's transitions 1, 2, 3...; it is taken from
+ * Task.statusEventSeq in the same update that changes the status, so the
+ * task's optimistic lock also keeps the sequence gap-free.
+ */
+@Entity
+@Table(name = "task_status_events",
+        uniqueConstraints = @UniqueConstraint(name = "uk_task_status_event_seq", columnNames = {"task_id", "seq"}),
+        indexes = @Index(name = "idx_task_status_event_project", columnList = "project_id, changed_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskStatusEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_status_event_seq")
+    @SequenceGenerator(name = "task_status_event_seq", sequenceName = "task_status_event_seq", allocationSize = 50)
+    private Long id;
+    
+    // Plain ids rather than associations - writing an event never loads the task
+    @Column(name = "task_id", nullable = false, updatable = false)
+    private Long taskId;
+    
+    @Column(name = "project_id", nullable = false, updatable = false)
+    private Long projectId;
+    
+    @Column(nullable = false, updatable = false)
+    private Long seq;
+    
+    // Null for the creation event
+    @Enumerated(EnumType.STRING)
+    @Column(updatable = false)
+    private TaskStatus fromStatus;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private TaskStatus toStatus;
+    
+    @Column(name = "changed_at", nullable = false, updatable = false)
+    private LocalDateTime changedAt;
+    
+    @Column(updatable = false)
+    private String changedBy;
+}
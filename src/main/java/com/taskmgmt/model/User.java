@@ -40,19 +40,26 @@ public class User {
     
     private Boolean active;
     
+    // Bumped on deactivation or role change; tokens from older epochs are rejected
+    private Long securityEpoch;
+    
     // Legacy field - TODO: Remove after migration to new session system
     private String sessionToken;
     
     @OneToMany(mappedBy = "owner", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Builder.Default
     private Set<Project> ownedProjects = new HashSet<>();
     
     @ManyToMany(mappedBy = "members")
+    @Builder.Default
     private Set<Project> memberProjects = new HashSet<>();
     
     @OneToMany(mappedBy = "assignee", cascade = CascadeType.ALL)
+    @Builder.Default
     private Set<Task> assignedTasks = new HashSet<>();
     
     @OneToMany(mappedBy = "author", cascade = CascadeType.ALL)
+    @Builder.Default
     private Set<Comment> comments = new HashSet<>();
     
     @PrePersist
@@ -62,6 +69,9 @@ public class User {
         if (active == null) {
             active = true;
         }
+        if (securityEpoch == null) {
+            securityEpoch = 0L;
+        }
     }
     
     @PreUpdate
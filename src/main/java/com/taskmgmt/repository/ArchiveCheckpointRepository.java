@@ -0,0 +1,9 @@
+package com.taskmgmt.repository;
+
+import com.taskmgmt.model.ArchiveCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchiveCheckpointRepository extends JpaRepository<ArchiveCheckpoint, Long> {
+}
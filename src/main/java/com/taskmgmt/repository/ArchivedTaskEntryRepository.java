@@ -0,0 +1,22 @@
+package com.taskmgmt.repository;
+
+import com.taskmgmt.dto.ArchivedTaskSummary;
+import com.taskmgmt.model.ArchivedTaskEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedTaskEntryRepository extends JpaRepository<ArchivedTaskEntry, Long> {
+    
+    Optional<ArchivedTaskEntry> findByTaskId(Long taskId);
+    
+    @Query("SELECT new com.taskmgmt.dto.ArchivedTaskSummary(e.taskId, e.projectId, e.title, e.completedAt, e.archivedAt) " +
+           "FROM ArchivedTaskEntry e WHERE e.projectId = :projectId AND e.taskId > :afterId ORDER BY e.taskId")
+    List<ArchivedTaskSummary> findProjectPage(@Param("projectId") Long projectId, @Param("afterId") long afterId, Pageable limit);
+}
@@ -1,23 +1,55 @@
 package com.taskmgmt.repository;
 
+import com.taskmgmt.dto.ArchivedComment;
+import com.taskmgmt.dto.CommentDTO;
 import com.taskmgmt.model.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByTaskId(Long taskId);
-    List<Comment> findByAuthorId(Long authorId);
+    String COMMENT_DTO_SELECT = "SELECT new com.taskmgmt.dto.CommentDTO(c.id, c.task.id, a.id, a.fullName, c.content, " +
+            "c.createdAt, c.updatedAt) FROM Comment c JOIN c.author a ";
     
-    @Query("SELECT c FROM Comment c WHERE c.task.id = :taskId AND c.deleted = false")
-    List<Comment> findActiveCommentsByTaskId(@Param("taskId") Long taskId);
+    // On the foreign-key columns; the derived forms outer-join the parent and filter on its id
+    @Query("SELECT c FROM Comment c WHERE c.task.id = :taskId")
+    List<Comment> findByTaskId(@Param("taskId") Long taskId);
     
-    // Soft delete query - might miss some edge cases
-    @Query("SELECT COUNT(c) FROM Comment c WHERE c.task.id = :taskId AND c.deleted = false")
-    long countActiveCommentsByTaskId(@Param("taskId") Long taskId);
+    @Query("SELECT c FROM Comment c WHERE c.author.id = :authorId")
+    List<Comment> findByAuthorId(@Param("authorId") Long authorId);
+    
+    // Newest-first keyset page - callers pass PageRequest.of(0, limit) for the LIMIT only
+    @Query(COMMENT_DTO_SELECT + "WHERE c.task.id = :taskId AND c.deleted = false AND c.id < :beforeId ORDER BY c.id DESC")
+    List<CommentDTO> findThreadPage(@Param("taskId") Long taskId, @Param("beforeId") long beforeId, Pageable limit);
+    
+    // Activity feed rows, newest first: id, task id, author username, created at, content
+    @Query("SELECT c.id, c.task.id, a.username, c.createdAt, c.content FROM Comment c JOIN c.author a " +
+           "WHERE c.projectId = :projectId AND c.deleted = false " +
+           "AND (c.createdAt < :before OR (c.createdAt = :before AND c.id < :beforeId)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Object[]> findFeedPage(@Param("projectId") Long projectId, @Param("before") LocalDateTime before,
+                                @Param("beforeId") long beforeId, Pageable limit);
+    
+    // Active comment counts: task id, count - tasks without comments are absent
+    @Query("SELECT c.task.id, COUNT(c) FROM Comment c WHERE c.task.id IN :taskIds AND c.deleted = false GROUP BY c.task.id")
+    List<Object[]> countActiveByTaskIds(@Param("taskIds") Collection<Long> taskIds);
+    
+    // Indexed text for search: task id, content
+    @Query("SELECT c.task.id, c.content FROM Comment c WHERE c.task.project.id IN :projectIds AND c.deleted = false ORDER BY c.id")
+    List<Object[]> findActiveTextByProjectIds(@Param("projectIds") Collection<Long> projectIds);
+    
+    @Query("SELECT c.task.id, c.content FROM Comment c WHERE c.task.id IN :taskIds AND c.deleted = false ORDER BY c.id")
+    List<Object[]> findActiveTextByTaskIds(@Param("taskIds") Collection<Long> taskIds);
+    
+    @Query("SELECT new com.taskmgmt.dto.ArchivedComment(c.id, c.task.id, a.id, a.username, c.content, " +
+           "c.createdAt, c.updatedAt, c.deleted) FROM Comment c JOIN c.author a WHERE c.task.id IN :taskIds ORDER BY c.id")
+    List<ArchivedComment> findArchivedComments(@Param("taskIds") Collection<Long> taskIds);
 }
 
@@ -1,26 +1,73 @@
 package com.taskmgmt.repository;
 
+import com.taskmgmt.dto.ProjectDTO;
+import com.taskmgmt.dto.ProjectSummary;
 import com.taskmgmt.model.Project;
 import com.taskmgmt.model.Project.ProjectStatus;
+import com.taskmgmt.model.Task.TaskStatus;
 import com.taskmgmt.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
+    String PROJECT_DTO_SELECT = "SELECT new com.taskmgmt.dto.ProjectDTO(p.id, p.name, p.description, p.status, " +
+            "o.id, o.fullName, p.createdAt, p.updatedAt, p.archivedAt, p.version, o.updatedAt) " +
+            "FROM Project p JOIN p.owner o ";
+    
+    // Every project has a full set of count cells from creation, so the inner join drops nothing
+    String PROJECT_SUMMARY_SELECT = "SELECT new com.taskmgmt.dto.ProjectSummary(p.id, p.name, p.status, " +
+            "o.id, o.fullName, p.updatedAt, p.version, SUM(c.taskCount), " +
+            "SUM(CASE WHEN c.status IN (:openStatuses) THEN c.taskCount ELSE 0 END)) " +
+            "FROM Project p JOIN p.owner o, ProjectTaskCount c WHERE c.projectId = p.id ";
+    
     List<Project> findByOwner(User owner);
     List<Project> findByStatus(ProjectStatus status);
     
     @Query("SELECT p FROM Project p JOIN p.members m WHERE m.id = :userId")
     List<Project> findByMemberId(@Param("userId") Long userId);
     
-    @Query("SELECT p FROM Project p WHERE p.owner.id = :userId OR :userId IN (SELECT m.id FROM p.members m)")
-    List<Project> findByUserId(@Param("userId") Long userId);
+    @Query(PROJECT_DTO_SELECT + "WHERE p.id IN :ids ORDER BY p.id")
+    List<ProjectDTO> findDtosByIds(@Param("ids") Collection<Long> ids);
+    
+    @Query(PROJECT_SUMMARY_SELECT + "AND p.id IN :ids " +
+            "GROUP BY p.id, p.name, p.status, o.id, o.fullName, p.updatedAt, p.version ORDER BY p.id")
+    List<ProjectSummary> findSummariesByIds(@Param("ids") Collection<Long> ids,
+                                            @Param("openStatuses") Collection<TaskStatus> openStatuses);
+    
+    @Query(PROJECT_DTO_SELECT + "WHERE p.id = :id")
+    Optional<ProjectDTO> findDtoById(@Param("id") Long id);
+    
+    // Id-only membership reads for ProjectMembershipIndex - no User rows
+    @Query("SELECT p.owner.id FROM Project p WHERE p.id = :projectId")
+    Optional<Long> findOwnerId(@Param("projectId") Long projectId);
+    
+    @Query("SELECT m.id FROM Project p JOIN p.members m WHERE p.id = :projectId")
+    List<Long> findMemberIds(@Param("projectId") Long projectId);
+    
+    // Both sides of the user-to-projects reverse index, each driven by a single-column index
+    @Query("SELECT p.id FROM Project p WHERE p.owner.id = :userId")
+    List<Long> findIdsOwnedBy(@Param("userId") Long userId);
+    
+    @Query(value = "SELECT project_id FROM project_members WHERE user_id = :userId", nativeQuery = true)
+    List<Long> findIdsWithMember(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query(value = "INSERT INTO project_members (project_id, user_id) VALUES (:projectId, :userId)", nativeQuery = true)
+    int insertMember(@Param("projectId") Long projectId, @Param("userId") Long userId);
+    
+    @Query("SELECT p.id FROM Project p ORDER BY p.id")
+    List<Long> findAllIds();
+    
+    @Query("SELECT p.id FROM Project p WHERE p.status = :status ORDER BY p.id")
+    List<Long> findIdsByStatus(@Param("status") ProjectStatus status);
     
     Optional<Project> findByIdAndStatus(Long id, ProjectStatus status);
     
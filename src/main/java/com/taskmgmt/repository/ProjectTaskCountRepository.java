@@ -0,0 +1,16 @@
+package com.taskmgmt.repository;
+
+import com.taskmgmt.model.ProjectTaskCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProjectTaskCountRepository extends JpaRepository<ProjectTaskCount, Long>, ProjectTaskCountRepositoryCustom {
+    
+    List<ProjectTaskCount> findByProjectId(Long projectId);
+    
+    List<ProjectTaskCount> findByProjectIdIn(Collection<Long> projectIds);
+}
@@ -0,0 +1,40 @@
+package com.taskmgmt.repository;
+
+import com.taskmgmt.model.Task.TaskPriority;
+import com.taskmgmt.model.Task.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Counter maintenance for project_task_counts as plain JDBC batches.
+ */
+public interface ProjectTaskCountRepositoryCustom {
+    
+    /**
+     * Inserts a zero row for every (status, priority) cell of each project.
+     */
+    void initialize(Collection<Long> projectIds);
+    
+    /**
+     * Applies all deltas in a single JDBC batch of relative UPDATEs.
+     */
+    void adjust(List<CountDelta> deltas);
+    
+    /**
+     * Creates and fills counter rows for projects that have none yet,
+     * counting their existing tasks. Returns the number of projects backfilled.
+     */
+    int backfillMissing();
+    
+    @Data
+    @AllArgsConstructor
+    class CountDelta {
+        private Long projectId;
+        private TaskStatus status;
+        private TaskPriority priority;
+        private long delta;
+    }
+}
@@ -0,0 +1,69 @@
+package com.taskmgmt.repository;
+
+import com.taskmgmt.model.Task.TaskPriority;
+import com.taskmgmt.model.Task.TaskStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class ProjectTaskCountRepositoryImpl implements ProjectTaskCountRepositoryCustom {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    
+    @Override
+    public void initialize(Collection<Long> projectIds) {
+        if (projectIds.isEmpty()) {
+            return;
+        }
+        
+        List<Object[]> args = new ArrayList<>();
+        for (Long projectId : projectIds) {
+            for (TaskStatus status : TaskStatus.values()) {
+                for (TaskPriority priority : TaskPriority.values()) {
+                    args.add(new Object[]{projectId, status.name(), priority.name()});
+                }
+            }
+        }
+        
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+                "INSERT INTO project_task_counts (project_id, status, priority, task_count) VALUES (?, ?, ?, 0)", args);
+    }
+    
+    @Override
+    public void adjust(List<CountDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        for (CountDelta delta : deltas) {
+            args.add(new Object[]{delta.getDelta(), delta.getProjectId(), delta.getStatus().name(), delta.getPriority().name()});
+        }
+        
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+                "UPDATE project_task_counts SET task_count = task_count + ? " +
+                "WHERE project_id = ? AND status = ? AND priority = ?", args);
+    }
+    
+    @Override
+    public int backfillMissing() {
+        List<Long> missing = jdbcTemplate.getJdbcTemplate().queryForList(
+                "SELECT p.id FROM projects p WHERE NOT EXISTS " +
+                "(SELECT 1 FROM project_task_counts c WHERE c.project_id = p.id)", Long.class);
+        if (missing.isEmpty()) {
+            return 0;
+        }
+        
+        initialize(missing);
+        jdbcTemplate.update(
+                "UPDATE project_task_counts c SET task_count = (SELECT COUNT(*) FROM tasks t " +
+                "WHERE t.project_id = c.project_id AND t.status = c.status AND t.priority = c.priority) " +
+                "WHERE c.project_id IN (:projectIds)",
+                Map.of("projectIds", missing));
+        return missing.size();
+    }
+}
@@ -0,0 +1,33 @@
+package com.taskmgmt.repository;
+
+import com.taskmgmt.model.TaskAssignmentEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskAssignmentEventRepository extends JpaRepository<TaskAssignmentEvent, Long> {
+    
+    // Activity feed rows, newest first: id, task id, assigned by, assigned at, previous assignee id, assignee id
+    @Query("SELECT e.id, e.taskId, e.assignedBy, e.assignedAt, e.previousAssigneeId, e.assigneeId " +
+           "FROM TaskAssignmentEvent e WHERE e.projectId = :projectId " +
+           "AND (e.assignedAt < :before OR (e.assignedAt = :before AND e.id < :beforeId)) " +
+           "ORDER BY e.assignedAt DESC, e.id DESC")
+    List<Object[]> findFeedPage(@Param("projectId") Long projectId, @Param("before") LocalDateTime before,
+                                @Param("beforeId") long beforeId, Pageable limit);
+    
+    @Modifying
+    @Query("DELETE FROM TaskAssignmentEvent e WHERE e.taskId = :taskId")
+    int deleteByTaskId(@Param("taskId") Long taskId);
+    
+    @Modifying
+    @Query("DELETE FROM TaskAssignmentEvent e WHERE e.taskId IN :taskIds")
+    int deleteByTaskIds(@Param("taskIds") Collection<Long> taskIds);
+}
@@ -1,19 +1,31 @@
 package com.taskmgmt.repository;
 
+import com.taskmgmt.dto.TaskDTO;
 import com.taskmgmt.model.Task;
 import com.taskmgmt.model.Task.TaskStatus;
 import com.taskmgmt.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    List<Task> findByProjectId(Long projectId);
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
+    // Read-side projection: exactly the TaskDTO columns, project and assignee joined in
+    String TASK_DTO_SELECT = "SELECT new com.taskmgmt.dto.TaskDTO(t.id, t.title, t.description, t.status, t.priority, " +
+            "p.id, p.name, a.id, a.fullName, t.dueDate, t.createdAt, t.updatedAt, t.completedAt, t.version, " +
+            "p.version, a.updatedAt) " +
+            "FROM Task t JOIN t.project p LEFT JOIN t.assignee a ";
+    
+    // On the foreign-key column; the derived form outer-joins projects and filters on its id
+    @Query("SELECT t FROM Task t WHERE t.project.id = :projectId")
+    List<Task> findByProjectId(@Param("projectId") Long projectId);
     List<Task> findByAssignee(User assignee);
     List<Task> findByStatus(TaskStatus status);
     
@@ -28,5 +40,48 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findAllByProjectId(@Param("projectId") Long projectId);
     
     long countByProjectIdAndStatus(Long projectId, TaskStatus status);
+    
+    @Query("SELECT t.id, t.dueDate FROM Task t WHERE t.dueDate >= :from AND t.status <> :completed AND t.status <> :cancelled")
+    List<Object[]> findOpenDueDates(@Param("from") LocalDateTime from,
+                                    @Param("completed") TaskStatus completed, @Param("cancelled") TaskStatus cancelled);
+    
+    // Indexed text for search: id, project id, title, description
+    @Query("SELECT t.id, t.project.id, t.title, t.description FROM Task t WHERE t.project.id IN :projectIds")
+    List<Object[]> findTextByProjectIds(@Param("projectIds") Collection<Long> projectIds);
+    
+    @Query("SELECT t.id, t.project.id, t.title, t.description FROM Task t WHERE t.id IN :ids")
+    List<Object[]> findTextByIds(@Param("ids") Collection<Long> ids);
+    
+    // Facet columns: id, project id, status, priority, assignee id, due date
+    @Query("SELECT t.id, t.project.id, t.status, t.priority, a.id, t.dueDate FROM Task t LEFT JOIN t.assignee a " +
+           "WHERE t.project.id IN :projectIds")
+    List<Object[]> findFacetRowsByProjectIds(@Param("projectIds") Collection<Long> projectIds);
+    
+    @Query("SELECT t.id, t.project.id, t.status, t.priority, a.id, t.dueDate FROM Task t LEFT JOIN t.assignee a " +
+           "WHERE t.id IN :ids")
+    List<Object[]> findFacetRowsByIds(@Param("ids") Collection<Long> ids);
+    
+    @Query(TASK_DTO_SELECT + "WHERE t.id IN :ids ORDER BY t.id")
+    List<TaskDTO> findDtosByIds(@Param("ids") Collection<Long> ids);
+    
+    @Query(TASK_DTO_SELECT + "WHERE t.id IN :ids AND t.dueDate <= :now AND t.status <> :completed AND t.status <> :cancelled")
+    List<TaskDTO> findOverdueDtosByIds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now,
+                                       @Param("completed") TaskStatus completed, @Param("cancelled") TaskStatus cancelled);
+    
+    @Query(TASK_DTO_SELECT + "WHERE t.status = :status AND t.completedAt < :cutoff AND t.id > :afterId ORDER BY t.id")
+    List<TaskDTO> findArchivableChunk(@Param("status") TaskStatus status, @Param("cutoff") LocalDateTime cutoff,
+                                      @Param("afterId") long afterId, Pageable limit);
+    
+    @Query(TASK_DTO_SELECT + "WHERE t.id = :id")
+    Optional<TaskDTO> findDtoById(@Param("id") Long id);
+    
+    // Keyset pages - callers pass PageRequest.of(0, limit) for the LIMIT only
+    @Query(TASK_DTO_SELECT + "WHERE t.assignee.id = :userId AND t.id > :afterId ORDER BY t.id")
+    List<TaskDTO> findAssigneePage(@Param("userId") Long userId, @Param("afterId") long afterId, Pageable limit);
+    
+    @Query(TASK_DTO_SELECT + "WHERE t.assignee.id = :userId AND t.dueDate < :date AND t.status != 'COMPLETED' " +
+           "AND t.id > :afterId ORDER BY t.id")
+    List<TaskDTO> findOverduePage(@Param("userId") Long userId, @Param("date") LocalDateTime date,
+                               @Param("afterId") long afterId, Pageable limit);
 }
 
@@ -0,0 +1,57 @@
+package com.taskmgmt.repository;
+
+import com.taskmgmt.dto.TaskDTO;
+import com.taskmgmt.model.Task.TaskPriority;
+import com.taskmgmt.model.Task.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Task queries whose shape depends on which filters are present, and bulk
+ * writes that are cheaper as plain JDBC batches.
+ */
+public interface TaskRepositoryCustom {
+    
+    /**
+     * Keyset page of a project's tasks ordered by id.
+     * Only the filters that are non-null become predicates, so each
+     * combination is a single index-friendly query with no OFFSET.
+     */
+    List<TaskDTO> findProjectPage(Long projectId, TaskStatus status, TaskPriority priority, long afterId, int limit);
+    
+    /**
+     * The columns a status transition needs, for many tasks in one query.
+     */
+    List<StatusRow> findStatusRows(Collection<Long> taskIds);
+    
+    /**
+     * Moves each task to the new status if its version still matches, in a
+     * single JDBC batch, advancing status_event_seq by one. Returns the update
+     * count per row (0 = version conflict).
+     */
+    int[] batchUpdateStatus(List<StatusRow> rows, TaskStatus newStatus, LocalDateTime changedAt);
+    
+    /**
+     * Deletes each task only if its version is unchanged, in a single JDBC
+     * batch. Returns how many rows were deleted.
+     */
+    int deleteIfUnchanged(Map<Long, Long> versionByTaskId);
+    
+    @Data
+    @AllArgsConstructor
+    class StatusRow {
+        private Long id;
+        private Long projectId;
+        private Long assigneeId;
+        private TaskStatus status;
+        private TaskPriority priority;
+        private LocalDateTime dueDate;
+        private long version;
+        private long statusEventSeq;
+    }
+}
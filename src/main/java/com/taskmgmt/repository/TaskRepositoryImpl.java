@@ -0,0 +1,106 @@
+package com.taskmgmt.repository;
+
+import com.taskmgmt.dto.TaskDTO;
+import com.taskmgmt.model.Task.TaskPriority;
+import com.taskmgmt.model.Task.TaskStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<TaskDTO> findProjectPage(Long projectId, TaskStatus status, TaskPriority priority, long afterId, int limit) {
+        StringBuilder jpql = new StringBuilder(TaskRepository.TASK_DTO_SELECT)
+                .append("WHERE p.id = :projectId AND t.id > :afterId");
+        if (status != null) {
+            jpql.append(" AND t.status = :status");
+        }
+        if (priority != null) {
+            jpql.append(" AND t.priority = :priority");
+        }
+        jpql.append(" ORDER BY t.id");
+        
+        TypedQuery<TaskDTO> query = entityManager.createQuery(jpql.toString(), TaskDTO.class)
+                .setParameter("projectId", projectId)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (priority != null) {
+            query.setParameter("priority", priority);
+        }
+        return query.getResultList();
+    }
+    
+    @Override
+    public int deleteIfUnchanged(Map<Long, Long> versionByTaskId) {
+        if (versionByTaskId.isEmpty()) {
+            return 0;
+        }
+        
+        List<Object[]> args = new ArrayList<>(versionByTaskId.size());
+        versionByTaskId.forEach((taskId, version) -> args.add(new Object[]{taskId, version}));
+        
+        int deleted = 0;
+        for (int count : jdbcTemplate.getJdbcTemplate().batchUpdate("DELETE FROM tasks WHERE id = ? AND version = ?", args)) {
+            deleted += count;
+        }
+        return deleted;
+    }
+    
+    @Override
+    public List<StatusRow> findStatusRows(Collection<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return jdbcTemplate.query(
+                "SELECT id, project_id, assignee_id, status, priority, due_date, version, status_event_seq " +
+                "FROM tasks WHERE id IN (:ids)",
+                Map.of("ids", taskIds),
+                (rs, rowNum) -> new StatusRow(
+                        rs.getLong("id"),
+                        rs.getLong("project_id"),
+                        rs.getObject("assignee_id", Long.class),
+                        TaskStatus.valueOf(rs.getString("status")),
+                        TaskPriority.valueOf(rs.getString("priority")),
+                        rs.getObject("due_date", LocalDateTime.class),
+                        rs.getLong("version"),
+                        rs.getLong("status_event_seq")));
+    }
+    
+    @Override
+    public int[] batchUpdateStatus(List<StatusRow> rows, TaskStatus newStatus, LocalDateTime changedAt) {
+        if (rows.isEmpty()) {
+            return new int[0];
+        }
+        
+        Timestamp now = Timestamp.valueOf(changedAt);
+        Timestamp completedAt = newStatus == TaskStatus.COMPLETED ? now : null;
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (StatusRow row : rows) {
+            args.add(new Object[]{newStatus.name(), now, completedAt, row.getId(), row.getVersion()});
+        }
+        
+        // Rows are transitions, so a COMPLETED target always takes the new time; other targets keep it
+        return jdbcTemplate.getJdbcTemplate().batchUpdate(
+                "UPDATE tasks SET status = ?, updated_at = ?, completed_at = COALESCE(?, completed_at), " +
+                "status_event_seq = status_event_seq + 1, version = version + 1 WHERE id = ? AND version = ?", args);
+    }
+}
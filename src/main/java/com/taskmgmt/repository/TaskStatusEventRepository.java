@@ -0,0 +1,41 @@
+package com.taskmgmt.repository;
+
+import com.taskmgmt.dto.TaskStatusEventDTO;
+import com.taskmgmt.model.TaskStatusEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskStatusEventRepository extends JpaRepository<TaskStatusEvent, Long> {
+    
+    // Keyset page over (task_id, seq) - served by the unique index
+    @Query("SELECT new com.taskmgmt.dto.TaskStatusEventDTO(e.seq, e.fromStatus, e.toStatus, e.changedAt, e.changedBy) " +
+           "FROM TaskStatusEvent e WHERE e.taskId = :taskId AND e.seq > :afterSeq ORDER BY e.seq")
+    List<TaskStatusEventDTO> findHistoryPage(@Param("taskId") Long taskId, @Param("afterSeq") long afterSeq, Pageable limit);
+    
+    // Activity feed rows, newest first: id, task id, changed by, changed at, from status, to status
+    @Query("SELECT e.id, e.taskId, e.changedBy, e.changedAt, e.fromStatus, e.toStatus " +
+           "FROM TaskStatusEvent e WHERE e.projectId = :projectId " +
+           "AND (e.changedAt < :before OR (e.changedAt = :before AND e.id < :beforeId)) " +
+           "ORDER BY e.changedAt DESC, e.id DESC")
+    List<Object[]> findFeedPage(@Param("projectId") Long projectId, @Param("before") LocalDateTime before,
+                                @Param("beforeId") long beforeId, Pageable limit);
+    
+    @Modifying
+    @Query("DELETE FROM TaskStatusEvent e WHERE e.taskId = :taskId")
+    int deleteByTaskId(@Param("taskId") Long taskId);
+    
+    List<TaskStatusEvent> findByTaskIdInOrderByTaskIdAscSeqAsc(Collection<Long> taskIds);
+    
+    @Modifying
+    @Query("DELETE FROM TaskStatusEvent e WHERE e.taskId IN :taskIds")
+    int deleteByTaskIds(@Param("taskIds") Collection<Long> taskIds);
+}
@@ -1,5 +1,6 @@
 package com.taskmgmt.repository;
 
+import com.taskmgmt.dto.UserDTO;
 import com.taskmgmt.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -11,7 +12,10 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+    String USER_DTO_SELECT = "SELECT new com.taskmgmt.dto.UserDTO(u.id, u.username, u.email, u.fullName, u.role, " +
+            "u.active, u.createdAt, u.lastLoginAt) FROM User u ";
+    
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
     
@@ -19,11 +23,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findBySessionToken(String sessionToken);
     
     List<User> findByActiveTrue();
+    
+    @Query(USER_DTO_SELECT + "WHERE u.active = true")
+    List<UserDTO> findActiveUserDtos();
     List<User> findByRole(User.UserRole role);
     
     @Query("SELECT u FROM User u WHERE u.lastLoginAt > :since")
     List<User> findActiveUsersSince(@Param("since") LocalDateTime since);
     
+    @Query("SELECT u.id, u.securityEpoch FROM User u WHERE u.securityEpoch > 0")
+    List<Object[]> findNonZeroSecurityEpochs();
+    
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
 }
@@ -0,0 +1,15 @@
+package com.taskmgmt.repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Bulk write operations on users that are cheaper as plain JDBC batches.
+ */
+public interface UserRepositoryCustom {
+    
+    /**
+     * Sets last_login_at for each user in a single JDBC batch.
+     */
+    void batchUpdateLastLogin(Map<Long, LocalDateTime> lastLoginByUserId);
+}
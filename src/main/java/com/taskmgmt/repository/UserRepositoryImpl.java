@@ -0,0 +1,28 @@
+package com.taskmgmt.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class UserRepositoryImpl implements UserRepositoryCustom {
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Override
+    public void batchUpdateLastLogin(Map<Long, LocalDateTime> lastLoginByUserId) {
+        if (lastLoginByUserId.isEmpty()) {
+            return;
+        }
+        
+        List<Object[]> args = new ArrayList<>(lastLoginByUserId.size());
+        lastLoginByUserId.forEach((userId, lastLogin) ->
+                args.add(new Object[]{Timestamp.valueOf(lastLogin), userId}));
+        
+        jdbcTemplate.batchUpdate("UPDATE users SET last_login_at = ? WHERE id = ?", args);
+    }
+}
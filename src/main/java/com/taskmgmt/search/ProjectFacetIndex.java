@@ -0,0 +1,221 @@
+package com.taskmgmt.search;
+
+import com.taskmgmt.dto.TaskFacetCounts;
+import com.taskmgmt.dto.TaskFilter;
+import com.taskmgmt.dto.TaskFilter.DueBucket;
+import com.taskmgmt.model.Task.TaskPriority;
+import com.taskmgmt.model.Task.TaskStatus;
+import com.taskmgmt.util.CompressedBitmap;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bitmap index over the tasks of one project: one compressed bitmap of task
+ * ids per status, priority, assignee and due day. Filters and facet counts
+ * are bitmap AND/OR; due buckets are unions of due-day bitmaps relative to
+ * the day of the query.
+ */
+class ProjectFacetIndex {
+    private enum Facet { STATUS, PRIORITY, ASSIGNEE, DUE }
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, FacetRow> rows = new HashMap<>();
+    private final CompressedBitmap all = new CompressedBitmap();
+    private final Map<TaskStatus, CompressedBitmap> byStatus = new EnumMap<>(TaskStatus.class);
+    private final Map<TaskPriority, CompressedBitmap> byPriority = new EnumMap<>(TaskPriority.class);
+    private final Map<Long, CompressedBitmap> byAssignee = new HashMap<>();
+    // Keyed by epoch day
+    private final TreeMap<Long, CompressedBitmap> byDueDay = new TreeMap<>();
+    private final CompressedBitmap noDueDate = new CompressedBitmap();
+    
+    void put(long taskId, TaskStatus status, TaskPriority priority, Long assigneeId, LocalDate dueDay) {
+        FacetRow row = new FacetRow(status, priority, assigneeId != null ? assigneeId : TaskFilter.UNASSIGNED,
+                dueDay != null ? dueDay.toEpochDay() : null);
+        lock.writeLock().lock();
+        try {
+            removeLocked(taskId);
+            rows.put(taskId, row);
+            all.add(taskId);
+            byStatus.computeIfAbsent(row.status, s -> new CompressedBitmap()).add(taskId);
+            byPriority.computeIfAbsent(row.priority, p -> new CompressedBitmap()).add(taskId);
+            byAssignee.computeIfAbsent(row.assigneeId, a -> new CompressedBitmap()).add(taskId);
+            if (row.dueDay != null) {
+                byDueDay.computeIfAbsent(row.dueDay, d -> new CompressedBitmap()).add(taskId);
+            } else {
+                noDueDate.add(taskId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    void remove(long taskId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(taskId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Up to limit matching task ids greater than afterId, ascending.
+     */
+    long[] page(TaskFilter filter, LocalDate today, long afterId, int limit) {
+        long[] ids = new long[limit];
+        int[] count = {0};
+        lock.readLock().lock();
+        try {
+            match(filter, today.toEpochDay(), null).forEachAfter(afterId, id -> {
+                ids[count[0]++] = id;
+                return count[0] < limit;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return count[0] == limit ? ids : Arrays.copyOf(ids, count[0]);
+    }
+    
+    TaskFacetCounts counts(TaskFilter filter, LocalDate today) {
+        long day = today.toEpochDay();
+        lock.readLock().lock();
+        try {
+            Map<DueBucket, Long> dueCounts = new EnumMap<>(DueBucket.class);
+            CompressedBitmap dueBase = match(filter, day, Facet.DUE);
+            for (DueBucket bucket : DueBucket.values()) {
+                dueCounts.put(bucket, dueBase.andCardinality(bucket(bucket, day)));
+            }
+            return TaskFacetCounts.builder()
+                    .total(match(filter, day, null).cardinality())
+                    .byStatus(count(byStatus, match(filter, day, Facet.STATUS), () -> new EnumMap<>(TaskStatus.class)))
+                    .byPriority(count(byPriority, match(filter, day, Facet.PRIORITY), () -> new EnumMap<>(TaskPriority.class)))
+                    .byAssignee(count(byAssignee, match(filter, day, Facet.ASSIGNEE), HashMap::new))
+                    .byDueBucket(dueCounts)
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    int size() {
+        lock.readLock().lock();
+        try {
+            return rows.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Tasks matching every facet filter except the skipped one. May return a
+     * live bitmap of this index - callers only read it, under the read lock.
+     */
+    private CompressedBitmap match(TaskFilter filter, long today, Facet skip) {
+        CompressedBitmap result = all;
+        if (skip != Facet.STATUS && !filter.getStatuses().isEmpty()) {
+            result = result.and(union(filter.getStatuses(), byStatus::get));
+        }
+        if (skip != Facet.PRIORITY && !filter.getPriorities().isEmpty()) {
+            result = result.and(union(filter.getPriorities(), byPriority::get));
+        }
+        if (skip != Facet.ASSIGNEE && !filter.getAssigneeIds().isEmpty()) {
+            result = result.and(union(filter.getAssigneeIds(), byAssignee::get));
+        }
+        if (skip != Facet.DUE && !filter.getDueBuckets().isEmpty()) {
+            result = result.and(union(filter.getDueBuckets(), bucket -> bucket(bucket, today)));
+        }
+        return result;
+    }
+    
+    private CompressedBitmap bucket(DueBucket bucket, long today) {
+        switch (bucket) {
+            case OVERDUE:
+                return union(byDueDay.headMap(today, false).values());
+            case TODAY:
+                CompressedBitmap dueToday = byDueDay.get(today);
+                return dueToday != null ? dueToday : new CompressedBitmap();
+            case NEXT_7_DAYS:
+                return union(byDueDay.subMap(today, false, today + 7, true).values());
+            case LATER:
+                return union(byDueDay.tailMap(today + 7, false).values());
+            default:
+                return noDueDate;
+        }
+    }
+    
+    private static <K> CompressedBitmap union(Set<K> values, Function<K, CompressedBitmap> bitmapOf) {
+        CompressedBitmap result = new CompressedBitmap();
+        for (K value : values) {
+            CompressedBitmap bitmap = bitmapOf.apply(value);
+            if (bitmap != null) {
+                result = result.or(bitmap);
+            }
+        }
+        return result;
+    }
+    
+    private static CompressedBitmap union(Collection<CompressedBitmap> bitmaps) {
+        CompressedBitmap result = new CompressedBitmap();
+        for (CompressedBitmap bitmap : bitmaps) {
+            result = result.or(bitmap);
+        }
+        return result;
+    }
+    
+    private static <K> Map<K, Long> count(Map<K, CompressedBitmap> bitmaps, CompressedBitmap base,
+                                          Supplier<Map<K, Long>> mapFactory) {
+        Map<K, Long> counts = mapFactory.get();
+        bitmaps.forEach((value, bitmap) -> counts.put(value, base.andCardinality(bitmap)));
+        return counts;
+    }
+    
+    private void removeLocked(long taskId) {
+        FacetRow previous = rows.remove(taskId);
+        if (previous == null) {
+            return;
+        }
+        all.remove(taskId);
+        removeFrom(byStatus, previous.status, taskId);
+        removeFrom(byPriority, previous.priority, taskId);
+        removeFrom(byAssignee, previous.assigneeId, taskId);
+        if (previous.dueDay != null) {
+            removeFrom(byDueDay, previous.dueDay, taskId);
+        } else {
+            noDueDate.remove(taskId);
+        }
+    }
+    
+    private static <K> void removeFrom(Map<K, CompressedBitmap> bitmaps, K key, long taskId) {
+        CompressedBitmap bitmap = bitmaps.get(key);
+        if (bitmap != null) {
+            bitmap.remove(taskId);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+    
+    private static final class FacetRow {
+        final TaskStatus status;
+        final TaskPriority priority;
+        final long assigneeId;
+        final Long dueDay;
+        
+        FacetRow(TaskStatus status, TaskPriority priority, long assigneeId, Long dueDay) {
+            this.status = status;
+            this.priority = priority;
+            this.assigneeId = assigneeId;
+            this.dueDay = dueDay;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.taskmgmt.search;
+
+import com.taskmgmt.event.TaskChangedEvent;
+import com.taskmgmt.repository.ProjectRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lifecycle shared by the per-project in-memory task indexes.
+ * A rebuild splits all project ids into segments that load and index in
+ * parallel on the index build pool, then swaps the result in. Between
+ * rebuilds, TaskChangedEvents are applied after commit. Changes that commit
+ * while a rebuild is loading are replayed once the rebuilt indexes are live.
+ * After-commit updates can race: one that read a task before a later commit
+ * may land after it. Every index is rebuilt on startup and then every
+ * search.rebuild.interval-ms, which bounds how long such a stale entry or a
+ * failed update stays visible.
+ */
+@Slf4j
+abstract class ProjectIndexSupport<I> {
+    protected final ProjectRepository projectRepository;
+    private final ThreadPoolTaskExecutor executor;
+    
+    @Value("${search.rebuild.chunk-size:200}")
+    private int chunkSize;
+    
+    @Value("${search.rebuild.timeout-ms:300000}")
+    private long timeoutMillis;
+    
+    private final Object rebuildLock = new Object();
+    protected volatile ConcurrentHashMap<Long, I> indexes = new ConcurrentHashMap<>();
+    // Non-null while a rebuild is loading: taskId -> projectId of changes to replay afterwards
+    private Map<Long, Long> changedDuringRebuild;
+    
+    ProjectIndexSupport(ProjectRepository projectRepository, ThreadPoolTaskExecutor executor) {
+        this.projectRepository = projectRepository;
+        this.executor = executor;
+    }
+    
+    /**
+     * Index name for log messages.
+     */
+    protected abstract String name();
+    
+    /**
+     * Whether a change of this type touches what the index holds.
+     */
+    protected abstract boolean affects(TaskChangedEvent.Type type);
+    
+    /**
+     * Loads and indexes every task of the given projects; one index per project id.
+     */
+    protected abstract Map<Long, I> buildSegment(List<Long> projectIds);
+    
+    /**
+     * Re-reads the given tasks into the live indexes; tasks that no longer
+     * exist are dropped from their project's index.
+     */
+    protected abstract void reindex(Map<Long, Long> projectByTaskId);
+    
+    protected abstract void remove(I index, long taskId);
+    
+    protected abstract int size(I index);
+    
+    // Not public: javac would add bridge methods to the public subclasses, which Spring skips
+    @EventListener(ApplicationReadyEvent.class)
+    protected void rebuildOnStartup() {
+        rebuild();
+    }
+    
+    @Scheduled(fixedDelayString = "${search.rebuild.interval-ms:900000}",
+            initialDelayString = "${search.rebuild.interval-ms:900000}")
+    protected void rebuildPeriodically() {
+        rebuild();
+    }
+    
+    /**
+     * Rebuilds every project index from the database and swaps them in.
+     * Returns the number of tasks indexed.
+     */
+    public int rebuild() {
+        long start = System.nanoTime();
+        synchronized (rebuildLock) {
+            if (changedDuringRebuild != null) {
+                log.warn("{} index rebuild already in progress", name());
+                return 0;
+            }
+            changedDuringRebuild = new ConcurrentHashMap<>();
+        }
+        
+        ConcurrentHashMap<Long, I> rebuilt = new ConcurrentHashMap<>();
+        try {
+            List<Long> projectIds = projectRepository.findAllIds();
+            List<CompletableFuture<Map<Long, I>>> segments = new ArrayList<>();
+            for (int from = 0; from < projectIds.size(); from += chunkSize) {
+                List<Long> chunk = projectIds.subList(from, Math.min(from + chunkSize, projectIds.size()));
+                segments.add(CompletableFuture.supplyAsync(() -> buildSegment(chunk), executor));
+            }
+            CompletableFuture.allOf(segments.toArray(new CompletableFuture[0])).get(timeoutMillis, TimeUnit.MILLISECONDS);
+            for (CompletableFuture<Map<Long, I>> segment : segments) {
+                rebuilt.putAll(segment.join());
+            }
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.error("{} index rebuild failed, keeping the current indexes", name(), e);
+            synchronized (rebuildLock) {
+                changedDuringRebuild = null;
+            }
+            return 0;
+        }
+        
+        Map<Long, Long> replay;
+        synchronized (rebuildLock) {
+            indexes = rebuilt;
+            replay = changedDuringRebuild;
+            changedDuringRebuild = null;
+        }
+        if (!replay.isEmpty()) {
+            reindex(replay);
+        }
+        int tasks = rebuilt.values().stream().mapToInt(this::size).sum();
+        log.info("Built {} index for {} tasks in {} projects in {} ms", name(), tasks, rebuilt.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return tasks;
+    }
+    
+    /**
+     * Applies a committed change. Never throws: the caller has already
+     * committed, and the next periodic rebuild corrects a missed or stale update.
+     */
+    protected void apply(TaskChangedEvent event) {
+        if (!affects(event.getType())) {
+            return;
+        }
+        
+        synchronized (rebuildLock) {
+            if (changedDuringRebuild != null) {
+                event.getTaskIds().forEach(taskId -> changedDuringRebuild.put(taskId, event.getProjectId()));
+            }
+        }
+        
+        try {
+            if (event.getType() == TaskChangedEvent.Type.DELETED) {
+                I index = indexes.get(event.getProjectId());
+                if (index != null) {
+                    event.getTaskIds().forEach(taskId -> remove(index, taskId));
+                }
+            } else {
+                Map<Long, Long> changed = new HashMap<>();
+                event.getTaskIds().forEach(taskId -> changed.put(taskId, event.getProjectId()));
+                reindex(changed);
+            }
+        } catch (Exception e) {
+            log.error("Failed to update {} index for tasks: {}", name(), event.getTaskIds(), e);
+        }
+    }
+}
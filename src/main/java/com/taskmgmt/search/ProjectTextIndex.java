@@ -0,0 +1,187 @@
+package com.taskmgmt.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over the tasks of one project.
+ * Each term maps to the tasks containing it with a field-weighted term
+ * frequency (title counts TITLE_WEIGHT times); ranking is BM25 over those
+ * weighted frequencies. The indexed text is kept to build highlights.
+ */
+class ProjectTextIndex {
+    private static final int TITLE_WEIGHT = 3;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int SNIPPET_CONTEXT = 40;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private long totalLength;
+    
+    void put(long taskId, String title, String description, List<String> comments) {
+        Map<String, Integer> termFreqs = new HashMap<>();
+        int length = 0;
+        for (String token : Tokenizer.tokenize(title)) {
+            termFreqs.merge(token, TITLE_WEIGHT, Integer::sum);
+            length += TITLE_WEIGHT;
+        }
+        List<String> bodyParts = new ArrayList<>(comments.size() + 1);
+        bodyParts.add(description);
+        bodyParts.addAll(comments);
+        for (String part : bodyParts) {
+            for (String token : Tokenizer.tokenize(part)) {
+                termFreqs.merge(token, 1, Integer::sum);
+                length++;
+            }
+        }
+        
+        Doc doc = new Doc(title, description, comments, termFreqs, length);
+        lock.writeLock().lock();
+        try {
+            removeLocked(taskId);
+            docs.put(taskId, doc);
+            totalLength += length;
+            termFreqs.forEach((term, freq) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(taskId, freq));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    void remove(long taskId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(taskId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * All tasks matching any of the terms, best first.
+     */
+    List<ScoredTask> search(List<String> terms) {
+        lock.readLock().lock();
+        try {
+            if (docs.isEmpty()) {
+                return Collections.emptyList();
+            }
+            double avgLength = Math.max(1.0, (double) totalLength / docs.size());
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<Long, Integer> matches = postings.get(term);
+                if (matches == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (docs.size() - matches.size() + 0.5) / (matches.size() + 0.5));
+                matches.forEach((taskId, freq) -> {
+                    double norm = K1 * (1 - B + B * docs.get(taskId).length / avgLength);
+                    scores.merge(taskId, idf * freq * (K1 + 1) / (freq + norm), Double::sum);
+                });
+            }
+            
+            List<ScoredTask> ranked = new ArrayList<>(scores.size());
+            scores.forEach((taskId, score) -> ranked.add(new ScoredTask(taskId, score)));
+            ranked.sort((a, b) -> a.score != b.score ? Double.compare(b.score, a.score) : Long.compare(a.taskId, b.taskId));
+            return ranked;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Up to maxSnippets fragments of the task's text around matches, with the
+     * matched words wrapped in &lt;em&gt; tags. Title first, then description, then comments.
+     */
+    List<String> highlight(long taskId, Pattern termPattern, int maxSnippets) {
+        Doc doc;
+        lock.readLock().lock();
+        try {
+            doc = docs.get(taskId);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (doc == null) {
+            return Collections.emptyList();
+        }
+        
+        List<String> fields = new ArrayList<>(doc.comments.size() + 2);
+        fields.add(doc.title);
+        fields.add(doc.description);
+        fields.addAll(doc.comments);
+        
+        List<String> snippets = new ArrayList<>(maxSnippets);
+        for (String field : fields) {
+            if (field == null || snippets.size() >= maxSnippets) {
+                continue;
+            }
+            Matcher matcher = termPattern.matcher(field);
+            if (matcher.find()) {
+                int start = Math.max(0, matcher.start() - SNIPPET_CONTEXT);
+                int end = Math.min(field.length(), matcher.end() + SNIPPET_CONTEXT);
+                String fragment = termPattern.matcher(field.substring(start, end)).replaceAll("<em>$0</em>");
+                snippets.add((start > 0 ? "..." : "") + fragment + (end < field.length() ? "..." : ""));
+            }
+        }
+        return snippets;
+    }
+    
+    int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void removeLocked(long taskId) {
+        Doc previous = docs.remove(taskId);
+        if (previous == null) {
+            return;
+        }
+        totalLength -= previous.length;
+        for (String term : previous.termFreqs.keySet()) {
+            Map<Long, Integer> matches = postings.get(term);
+            if (matches != null) {
+                matches.remove(taskId);
+                if (matches.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+    
+    static final class ScoredTask {
+        final long taskId;
+        final double score;
+        
+        ScoredTask(long taskId, double score) {
+            this.taskId = taskId;
+            this.score = score;
+        }
+    }
+    
+    private static final class Doc {
+        final String title;
+        final String description;
+        final List<String> comments;
+        final Map<String, Integer> termFreqs;
+        final int length;
+        
+        Doc(String title, String description, List<String> comments, Map<String, Integer> termFreqs, int length) {
+            this.title = title;
+            this.description = description;
+            this.comments = comments;
+            this.termFreqs = termFreqs;
+            this.length = length;
+        }
+    }
+}
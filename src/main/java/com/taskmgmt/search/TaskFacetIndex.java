@@ -0,0 +1,141 @@
+package com.taskmgmt.search;
+
+import com.taskmgmt.dto.CursorPage;
+import com.taskmgmt.dto.TaskDTO;
+import com.taskmgmt.dto.TaskFacetCounts;
+import com.taskmgmt.dto.TaskFilter;
+import com.taskmgmt.event.TaskChangedEvent;
+import com.taskmgmt.model.Task.TaskPriority;
+import com.taskmgmt.model.Task.TaskStatus;
+import com.taskmgmt.repository.ProjectRepository;
+import com.taskmgmt.repository.TaskRepository;
+import com.taskmgmt.security.ProjectMembershipIndex;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Faceted board filtering over status, priority, assignee and due-date
+ * bucket, answered from per-project bitmap indexes. Only the final page of
+ * rows is read from the database, by id.
+ */
+@Component
+public class TaskFacetIndex extends ProjectIndexSupport<ProjectFacetIndex> {
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+    
+    private final TaskRepository taskRepository;
+    private final ProjectMembershipIndex membershipIndex;
+    
+    public TaskFacetIndex(ProjectRepository projectRepository,
+                          TaskRepository taskRepository,
+                          ProjectMembershipIndex membershipIndex,
+                          @Qualifier("indexBuildExecutor") ThreadPoolTaskExecutor executor) {
+        super(projectRepository, executor);
+        this.taskRepository = taskRepository;
+        this.membershipIndex = membershipIndex;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        apply(event);
+    }
+    
+    /**
+     * Keyset page of the project's tasks matching the filter, ordered by id.
+     */
+    public CursorPage<TaskDTO> filter(Long projectId, TaskFilter filter, Long cursor, Integer limit, Long userId) {
+        ProjectFacetIndex index = indexFor(projectId, userId);
+        if (index == null) {
+            return new CursorPage<>(Collections.emptyList(), null);
+        }
+        
+        int pageSize = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        long[] ids = index.page(filter, LocalDate.now(), cursor != null ? cursor : 0L, pageSize + 1);
+        if (ids.length == 0) {
+            return new CursorPage<>(Collections.emptyList(), null);
+        }
+        List<Long> idList = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            idList.add(id);
+        }
+        return CursorPage.of(taskRepository.findDtosByIds(idList), pageSize, TaskDTO::getId);
+    }
+    
+    public TaskFacetCounts facets(Long projectId, TaskFilter filter, Long userId) {
+        ProjectFacetIndex index = indexFor(projectId, userId);
+        return (index != null ? index : new ProjectFacetIndex()).counts(filter, LocalDate.now());
+    }
+    
+    private ProjectFacetIndex indexFor(Long projectId, Long userId) {
+        ProjectFacetIndex index = indexes.get(projectId);
+        if (index == null && !projectRepository.existsById(projectId)) {
+            throw new IllegalArgumentException("Project not found");
+        }
+        if (!membershipIndex.isOwnerOrMember(projectId, userId)) {
+            throw new SecurityException("User not authorized to view this project");
+        }
+        return index;
+    }
+    
+    @Override
+    protected String name() {
+        return "Facet";
+    }
+    
+    @Override
+    protected boolean affects(TaskChangedEvent.Type type) {
+        return type != TaskChangedEvent.Type.COMMENTED && type != TaskChangedEvent.Type.COMMENT_EDITED;
+    }
+    
+    @Override
+    protected Map<Long, ProjectFacetIndex> buildSegment(List<Long> projectIds) {
+        Map<Long, ProjectFacetIndex> segment = new HashMap<>(projectIds.size() * 2);
+        projectIds.forEach(projectId -> segment.put(projectId, new ProjectFacetIndex()));
+        for (Object[] row : taskRepository.findFacetRowsByProjectIds(projectIds)) {
+            put(segment.get((Long) row[1]), row);
+        }
+        return segment;
+    }
+    
+    @Override
+    protected void reindex(Map<Long, Long> projectByTaskId) {
+        Map<Long, Long> missing = new HashMap<>(projectByTaskId);
+        for (Object[] row : taskRepository.findFacetRowsByIds(projectByTaskId.keySet())) {
+            missing.remove((Long) row[0]);
+            put(indexes.computeIfAbsent((Long) row[1], id -> new ProjectFacetIndex()), row);
+        }
+        missing.forEach((taskId, projectId) -> {
+            ProjectFacetIndex index = indexes.get(projectId);
+            if (index != null) {
+                index.remove(taskId);
+            }
+        });
+    }
+    
+    @Override
+    protected void remove(ProjectFacetIndex index, long taskId) {
+        index.remove(taskId);
+    }
+    
+    @Override
+    protected int size(ProjectFacetIndex index) {
+        return index.size();
+    }
+    
+    // Row layout: id, project id, status, priority, assignee id, due date
+    private static void put(ProjectFacetIndex index, Object[] row) {
+        LocalDateTime dueDate = (LocalDateTime) row[5];
+        index.put((Long) row[0], (TaskStatus) row[2], (TaskPriority) row[3], (Long) row[4],
+                dueDate != null ? dueDate.toLocalDate() : null);
+    }
+}
@@ -0,0 +1,148 @@
+package com.taskmgmt.search;
+
+import com.taskmgmt.dto.CursorPage;
+import com.taskmgmt.dto.TaskSearchHit;
+import com.taskmgmt.event.TaskChangedEvent;
+import com.taskmgmt.repository.CommentRepository;
+import com.taskmgmt.repository.ProjectRepository;
+import com.taskmgmt.repository.TaskRepository;
+import com.taskmgmt.search.ProjectTextIndex.ScoredTask;
+import com.taskmgmt.security.ProjectMembershipIndex;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text search over task titles, descriptions and non-deleted comments,
+ * one in-memory inverted index per project. Changes re-read the affected
+ * tasks' text after commit.
+ */
+@Component
+public class TaskSearchIndex extends ProjectIndexSupport<ProjectTextIndex> {
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SNIPPETS = 3;
+    
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final ProjectMembershipIndex membershipIndex;
+    
+    public TaskSearchIndex(ProjectRepository projectRepository,
+                           TaskRepository taskRepository,
+                           CommentRepository commentRepository,
+                           ProjectMembershipIndex membershipIndex,
+                           @Qualifier("indexBuildExecutor") ThreadPoolTaskExecutor executor) {
+        super(projectRepository, executor);
+        this.taskRepository = taskRepository;
+        this.commentRepository = commentRepository;
+        this.membershipIndex = membershipIndex;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        apply(event);
+    }
+    
+    public CursorPage<TaskSearchHit> search(Long projectId, String query, Long cursor, Integer limit, Long userId) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new IllegalArgumentException("Project not found");
+        }
+        if (!membershipIndex.isOwnerOrMember(projectId, userId)) {
+            throw new SecurityException("User not authorized to search this project");
+        }
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(Tokenizer.tokenize(query)));
+        ProjectTextIndex index = indexes.get(projectId);
+        if (terms.isEmpty() || index == null) {
+            return new CursorPage<>(Collections.emptyList(), null);
+        }
+        
+        int pageSize = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        int offset = cursor != null ? (int) Math.max(0, Math.min(cursor, Integer.MAX_VALUE)) : 0;
+        List<ScoredTask> ranked = index.search(terms);
+        if (offset >= ranked.size()) {
+            return new CursorPage<>(Collections.emptyList(), null);
+        }
+        
+        String alternatives = terms.stream().map(Pattern::quote).collect(Collectors.joining("|"));
+        Pattern termPattern = Pattern.compile("\\b(" + alternatives + ")\\b",
+                Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.UNICODE_CHARACTER_CLASS);
+        int end = Math.min(offset + pageSize, ranked.size());
+        List<TaskSearchHit> hits = new ArrayList<>(end - offset);
+        for (ScoredTask scored : ranked.subList(offset, end)) {
+            hits.add(new TaskSearchHit(scored.taskId, scored.score, index.highlight(scored.taskId, termPattern, MAX_SNIPPETS)));
+        }
+        return new CursorPage<>(hits, end < ranked.size() ? (long) end : null);
+    }
+    
+    @Override
+    protected String name() {
+        return "Search";
+    }
+    
+    @Override
+    protected boolean affects(TaskChangedEvent.Type type) {
+        // Status and assignee changes leave the indexed text alone
+        return type != TaskChangedEvent.Type.STATUS_CHANGED && type != TaskChangedEvent.Type.ASSIGNED;
+    }
+    
+    @Override
+    protected Map<Long, ProjectTextIndex> buildSegment(List<Long> projectIds) {
+        Map<Long, ProjectTextIndex> segment = new HashMap<>(projectIds.size() * 2);
+        projectIds.forEach(projectId -> segment.put(projectId, new ProjectTextIndex()));
+        Map<Long, List<String>> comments = groupComments(commentRepository.findActiveTextByProjectIds(projectIds));
+        for (Object[] row : taskRepository.findTextByProjectIds(projectIds)) {
+            Long taskId = (Long) row[0];
+            segment.get((Long) row[1]).put(taskId, (String) row[2], (String) row[3],
+                    comments.getOrDefault(taskId, Collections.emptyList()));
+        }
+        return segment;
+    }
+    
+    @Override
+    protected void reindex(Map<Long, Long> projectByTaskId) {
+        Collection<Long> taskIds = projectByTaskId.keySet();
+        Map<Long, List<String>> comments = groupComments(commentRepository.findActiveTextByTaskIds(taskIds));
+        Map<Long, Long> missing = new HashMap<>(projectByTaskId);
+        for (Object[] row : taskRepository.findTextByIds(taskIds)) {
+            Long taskId = (Long) row[0];
+            missing.remove(taskId);
+            indexes.computeIfAbsent((Long) row[1], id -> new ProjectTextIndex()).put(taskId, (String) row[2],
+                    (String) row[3], comments.getOrDefault(taskId, Collections.emptyList()));
+        }
+        missing.forEach((taskId, projectId) -> {
+            ProjectTextIndex index = indexes.get(projectId);
+            if (index != null) {
+                index.remove(taskId);
+            }
+        });
+    }
+    
+    @Override
+    protected void remove(ProjectTextIndex index, long taskId) {
+        index.remove(taskId);
+    }
+    
+    @Override
+    protected int size(ProjectTextIndex index) {
+        return index.size();
+    }
+    
+    private static Map<Long, List<String>> groupComments(List<Object[]> rows) {
+        Map<Long, List<String>> byTask = new HashMap<>();
+        for (Object[] row : rows) {
+            byTask.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        return byTask;
+    }
+}
@@ -1,9 +1,14 @@
 package com.taskmgmt.security;
 
+import com.taskmgmt.model.User;
 import com.taskmgmt.service.AuthService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -18,19 +23,29 @@ import java.io.IOException;
 /**
  * JWT authentication filter.
  * Also supports legacy token validation through AuthService.
+ * Applies admission control: login attempts per client IP and task/comment
+ * writes per authenticated user, answering 429 with Retry-After.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final AuthService authService;
-    private final UserRepository userRepository; // Needed for JWT user lookup after token validation
+    private final RateLimiters rateLimiters;
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
                                    HttpServletResponse response, 
                                    FilterChain filterChain) throws ServletException, IOException {
         
+        if (isLogin(request)) {
+            long waitNanos = rateLimiters.acquireLoginByIp(request.getRemoteAddr());
+            if (waitNanos > 0) {
+                rejectTooManyRequests(response, waitNanos);
+                return;
+            }
+        }
+        
         String token = extractToken(request);
         
         if (token != null) {
@@ -47,9 +62,40 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             });
         }
         
+        if (isLimitedWrite(request)) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof User) {
+                long waitNanos = rateLimiters.acquireWrite(((User) authentication.getPrincipal()).getId());
+                if (waitNanos > 0) {
+                    rejectTooManyRequests(response, waitNanos);
+                    return;
+                }
+            }
+        }
+        
         filterChain.doFilter(request, response);
     }
     
+    private boolean isLogin(HttpServletRequest request) {
+        return "POST".equals(request.getMethod()) && "/api/auth/login".equals(request.getRequestURI());
+    }
+    
+    private boolean isLimitedWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) {
+            return false;
+        }
+        String uri = request.getRequestURI();
+        return uri.startsWith("/api/tasks") || uri.startsWith("/api/comments");
+    }
+    
+    private void rejectTooManyRequests(HttpServletResponse response, long waitNanos) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(TokenBucketRateLimiter.toRetryAfterSeconds(waitNanos)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"status\":429,\"error\":\"Too Many Requests\"}");
+    }
+    
     private String extractToken(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
@@ -0,0 +1,135 @@
+package com.taskmgmt.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskmgmt.repository.ProjectRepository;
+import com.taskmgmt.util.LongHashSet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+/**
+ * In-memory view of who owns and who belongs to each project, for
+ * authorization checks. A project's owner id and member id set are loaded
+ * with two id-only queries on first use - never User rows - and answered in
+ * O(1) afterwards. The reverse direction - the sorted ids of every project
+ * a user owns or belongs to - is kept the same way for project listings.
+ * Membership writes invalidate the affected entries after commit; entries
+ * also expire so changes made by other instances are picked up.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProjectMembershipIndex {
+    private final ProjectRepository projectRepository;
+    
+    @Value("${auth.membership.max-projects:100000}")
+    private long maxProjects;
+    
+    @Value("${auth.membership.max-users:100000}")
+    private long maxUsers;
+    
+    @Value("${auth.membership.expire-after-write-seconds:600}")
+    private long expireAfterWriteSeconds;
+    
+    private Cache<Long, ProjectAccess> entries;
+    private Cache<Long, long[]> projectsByUser;
+    
+    @PostConstruct
+    void init() {
+        entries = Caffeine.newBuilder()
+                .maximumSize(maxProjects)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .build();
+        projectsByUser = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .build();
+    }
+    
+    public boolean isOwner(long projectId, long userId) {
+        ProjectAccess access = access(projectId);
+        return access != null && access.ownerId == userId;
+    }
+    
+    public boolean isOwnerOrMember(long projectId, long userId) {
+        ProjectAccess access = access(projectId);
+        return access != null && (access.ownerId == userId || access.memberIds.contains(userId));
+    }
+    
+    /**
+     * Ids of the projects the user owns or is a member of, ascending.
+     * The returned array is shared and must not be modified.
+     */
+    public long[] projectIdsOf(long userId) {
+        return projectsByUser.get(userId, this::loadProjectIds);
+    }
+    
+    /**
+     * Drops the project's entry once the current transaction commits (or
+     * now, outside a transaction). Call from every membership write.
+     */
+    public void invalidateAfterCommit(long projectId) {
+        afterCommit(() -> entries.invalidate(projectId));
+    }
+    
+    /**
+     * Drops the user's project id list once the current transaction commits.
+     * Call for the owner of a new project and for every added member.
+     */
+    public void invalidateUserAfterCommit(long userId) {
+        afterCommit(() -> projectsByUser.invalidate(userId));
+    }
+    
+    private void afterCommit(Runnable invalidation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidation.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidation.run();
+            }
+        });
+    }
+    
+    private ProjectAccess access(long projectId) {
+        // A missing project loads as null, which Caffeine does not cache
+        return entries.get(projectId, this::load);
+    }
+    
+    private ProjectAccess load(Long projectId) {
+        Optional<Long> ownerId = projectRepository.findOwnerId(projectId);
+        if (ownerId.isEmpty()) {
+            return null;
+        }
+        return new ProjectAccess(ownerId.get(), LongHashSet.of(projectRepository.findMemberIds(projectId)));
+    }
+    
+    private long[] loadProjectIds(Long userId) {
+        // Owners are normally members too; the union also covers rows where they are not
+        return LongStream.concat(
+                        projectRepository.findIdsOwnedBy(userId).stream().mapToLong(Long::longValue),
+                        projectRepository.findIdsWithMember(userId).stream().mapToLong(Long::longValue))
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+    
+    private static final class ProjectAccess {
+        final long ownerId;
+        final LongHashSet memberIds;
+        
+        ProjectAccess(long ownerId, LongHashSet memberIds) {
+            this.ownerId = ownerId;
+            this.memberIds = memberIds;
+        }
+    }
+}
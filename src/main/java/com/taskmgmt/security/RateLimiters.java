@@ -0,0 +1,55 @@
+package com.taskmgmt.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-route rate limiters, configured from ratelimit.* properties.
+ */
+@Component
+public class RateLimiters {
+    private final boolean enabled;
+    private final TokenBucketRateLimiter loginByIp;
+    private final TokenBucketRateLimiter loginByUsername;
+    private final TokenBucketRateLimiter writesByUser;
+    
+    public RateLimiters(
+            @Value("${ratelimit.enabled:true}") boolean enabled,
+            @Value("${ratelimit.max-keys:100000}") long maxKeys,
+            @Value("${ratelimit.login.ip.capacity:20}") int loginIpCapacity,
+            @Value("${ratelimit.login.ip.per-minute:20}") int loginIpPerMinute,
+            @Value("${ratelimit.login.username.capacity:5}") int loginUsernameCapacity,
+            @Value("${ratelimit.login.username.per-minute:5}") int loginUsernamePerMinute,
+            @Value("${ratelimit.write.capacity:60}") int writeCapacity,
+            @Value("${ratelimit.write.per-minute:120}") int writePerMinute) {
+        this.enabled = enabled;
+        this.loginByIp = new TokenBucketRateLimiter(loginIpCapacity, loginIpPerMinute, maxKeys);
+        this.loginByUsername = new TokenBucketRateLimiter(loginUsernameCapacity, loginUsernamePerMinute, maxKeys);
+        this.writesByUser = new TokenBucketRateLimiter(writeCapacity, writePerMinute, maxKeys);
+    }
+    
+    /**
+     * @return 0 if allowed, otherwise nanoseconds to wait
+     */
+    public long acquireLoginByIp(String clientIp) {
+        return enabled ? loginByIp.tryAcquire(clientIp) : 0L;
+    }
+    
+    public long acquireLoginByUsername(String username) {
+        return enabled ? loginByUsername.tryAcquire(username.toLowerCase()) : 0L;
+    }
+    
+    /**
+     * Returns the token of a login that succeeded, so only failed attempts
+     * count against the account.
+     */
+    public void refundLoginByUsername(String username) {
+        if (enabled) {
+            loginByUsername.refund(username.toLowerCase());
+        }
+    }
+    
+    public long acquireWrite(long userId) {
+        return enabled ? writesByUser.tryAcquire(userId) : 0L;
+    }
+}
@@ -0,0 +1,61 @@
+package com.taskmgmt.security;
+
+import com.taskmgmt.repository.UserRepository;
+import com.taskmgmt.util.LongLongMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+
+/**
+ * In-memory view of each user's security epoch.
+ * Tokens carry the epoch they were issued under; deactivation or a role change
+ * bumps the persisted epoch, which invalidates every older token in O(1).
+ * Users that never had their epoch bumped are simply absent (epoch 0).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SecurityEpochRegistry {
+    private final UserRepository userRepository;
+    private final LongLongMap epochs = new LongLongMap(256);
+    
+    @PostConstruct
+    void load() {
+        List<Object[]> rows = userRepository.findNonZeroSecurityEpochs();
+        for (Object[] row : rows) {
+            epochs.putIfGreater((Long) row[0], (Long) row[1]);
+        }
+        log.info("Loaded security epochs for {} users", rows.size());
+    }
+    
+    public long currentEpoch(long userId) {
+        return epochs.get(userId, 0L);
+    }
+    
+    public boolean isCurrent(long userId, long tokenEpoch) {
+        return epochs.get(userId, 0L) == tokenEpoch;
+    }
+    
+    /**
+     * Records a newly persisted epoch once the current transaction commits
+     * (or now, outside a transaction), so a rolled-back bump never rejects
+     * tokens that are still valid. Never moves an epoch backwards.
+     */
+    public void advanceAfterCommit(long userId, long epoch) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            epochs.putIfGreater(userId, epoch);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                epochs.putIfGreater(userId, epoch);
+            }
+        });
+    }
+}
@@ -0,0 +1,185 @@
+package com.taskmgmt.security;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets, one per key, in a fixed-size lock-striped table.
+ * A key hashes to a stripe and to a home slot in it; its bucket sits within
+ * PROBE_WINDOW slots of home and is found by comparing the stored key, so
+ * keys never share a bucket. A hit allocates nothing and holds only its
+ * stripe's lock.
+ *
+ * A new key takes an empty slot in its window, otherwise the one refilled
+ * longest ago: usually a bucket idle long enough to refill completely, which
+ * is indistinguishable from a new one. Memory stays at about maxKeys buckets
+ * however many distinct keys arrive.
+ *
+ * Keys are strings (IPs, usernames) or longs (user ids, stored unboxed).
+ * Strings are hashed with a per-instance random seed, so a client cannot
+ * pick keys that crowd one window.
+ *
+ * Each bucket holds "credit" measured in nanoseconds of refill time, capped
+ * at capacity * nanosPerToken; a request spends nanosPerToken of credit.
+ */
+public class TokenBucketRateLimiter {
+    private static final int STRIPES = 64;
+    private static final int PROBE_WINDOW = 8;
+    
+    private final long nanosPerToken;
+    private final long maxCredit;
+    private final LongSupplier ticker;
+    private final long seed = ThreadLocalRandom.current().nextLong();
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    
+    public TokenBucketRateLimiter(int capacity, int refillPerMinute, long maxKeys) {
+        this(capacity, refillPerMinute, maxKeys, System::nanoTime);
+    }
+    
+    TokenBucketRateLimiter(int capacity, int refillPerMinute, long maxKeys, LongSupplier ticker) {
+        if (capacity <= 0 || refillPerMinute <= 0) {
+            throw new IllegalArgumentException("Rate limit capacity and refill rate must be positive");
+        }
+        this.nanosPerToken = 60_000_000_000L / refillPerMinute;
+        this.maxCredit = nanosPerToken * capacity;
+        this.ticker = ticker;
+        // A quarter of the slots stay free so windows rarely fill before maxKeys
+        int slots = (int) Math.max(PROBE_WINDOW, Math.min(1 << 24, (maxKeys * 4 / 3 + STRIPES - 1) / STRIPES));
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(slots);
+        }
+    }
+    
+    /**
+     * Takes one token for the key.
+     *
+     * @return 0 if the request is allowed, otherwise nanoseconds until a token is available
+     */
+    public long tryAcquire(String key) {
+        long hash = hash(key);
+        return acquire(hash, hash, key);
+    }
+    
+    public long tryAcquire(long key) {
+        return acquire(mix(key), key, null);
+    }
+    
+    /**
+     * Gives back a token taken by tryAcquire, for a request that turned out
+     * not to count against the limit.
+     */
+    public void refund(String key) {
+        long hash = hash(key);
+        Stripe stripe = stripes[stripeOf(hash)];
+        synchronized (stripe) {
+            int slot = stripe.find(hash, hash, key);
+            if (slot >= 0) {
+                stripe.credit[slot] = Math.min(maxCredit, stripe.credit[slot] + nanosPerToken);
+            }
+        }
+    }
+    
+    public static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1L, (waitNanos + 999_999_999L) / 1_000_000_000L);
+    }
+    
+    private long acquire(long hash, long storedKey, String name) {
+        Stripe stripe = stripes[stripeOf(hash)];
+        synchronized (stripe) {
+            long now = ticker.getAsLong();
+            int slot = stripe.find(hash, storedKey, name);
+            if (slot < 0) {
+                slot = stripe.claim(hash, storedKey, name, maxCredit, now);
+            }
+            long available = Math.min(maxCredit, stripe.credit[slot] + (now - stripe.lastRefill[slot]));
+            stripe.lastRefill[slot] = now;
+            if (available >= nanosPerToken) {
+                stripe.credit[slot] = available - nanosPerToken;
+                return 0L;
+            }
+            stripe.credit[slot] = available;
+            return nanosPerToken - available;
+        }
+    }
+    
+    private long hash(String key) {
+        long h = seed;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(h ^ seed);
+    }
+    
+    private static int stripeOf(long hash) {
+        return (int) (hash >>> 58);
+    }
+    
+    // Murmur3 64-bit finalizer
+    private static long mix(long h) {
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+    
+    /**
+     * Open-addressed slots guarded by the stripe's monitor. A slot is never
+     * emptied once used, only reassigned, so a probe can stop at an empty slot.
+     * storedKey is the long key itself, or the hash of a string key kept in names.
+     */
+    private static final class Stripe {
+        final boolean[] used;
+        final long[] keys;
+        final String[] names;
+        final long[] credit;
+        final long[] lastRefill;
+        
+        Stripe(int slots) {
+            used = new boolean[slots];
+            keys = new long[slots];
+            names = new String[slots];
+            credit = new long[slots];
+            lastRefill = new long[slots];
+        }
+        
+        int find(long hash, long storedKey, String name) {
+            int slot = home(hash);
+            for (int probe = 0; probe < PROBE_WINDOW && used[slot]; probe++) {
+                if (keys[slot] == storedKey && Objects.equals(names[slot], name)) {
+                    return slot;
+                }
+                slot = next(slot);
+            }
+            return -1;
+        }
+        
+        int claim(long hash, long storedKey, String name, long fullCredit, long now) {
+            int slot = home(hash);
+            int victim = slot;
+            for (int probe = 0; probe < PROBE_WINDOW; probe++) {
+                if (!used[slot]) {
+                    victim = slot;
+                    break;
+                }
+                if (lastRefill[slot] - lastRefill[victim] < 0) {
+                    victim = slot;
+                }
+                slot = next(slot);
+            }
+            used[victim] = true;
+            keys[victim] = storedKey;
+            names[victim] = name;
+            credit[victim] = fullCredit;
+            lastRefill[victim] = now;
+            return victim;
+        }
+        
+        private int home(long hash) {
+            return (int) (((hash & 0xFFFFFFFFL) * used.length) >>> 32);
+        }
+        
+        private int next(int slot) {
+            return slot + 1 == used.length ? 0 : slot + 1;
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package com.taskmgmt.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskmgmt.dto.ActivityItem;
+import com.taskmgmt.dto.ActivityItem.Kind;
+import com.taskmgmt.dto.ActivityPage;
+import com.taskmgmt.event.TaskChangedEvent;
+import com.taskmgmt.model.Task.TaskStatus;
+import com.taskmgmt.repository.CommentRepository;
+import com.taskmgmt.repository.TaskAssignmentEventRepository;
+import com.taskmgmt.repository.TaskStatusEventRepository;
+import com.taskmgmt.security.ProjectMembershipIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Project activity feed: comments, status changes and assignments across
+ * all of a project's tasks, newest first.
+ * Each source is read with one keyset query on its (project_id, time) index,
+ * and the sorted streams are k-way merged. The feed order is
+ * (time, kind, id) descending, and the cursor is the key of the last item
+ * served. The newest entries of each project are kept in a bounded
+ * in-memory buffer that serves first pages. After a change that adds entries
+ * commits, the project's newest few entries are read and merged into its
+ * buffer, and the oldest fall off the end. Edits and deletions drop the
+ * buffer instead, and the next first-page read refills it from the merge.
+ */
+@Service
+@RequiredArgsConstructor
+public class ActivityFeedService {
+    private static final int EXCERPT_LENGTH = 280;
+    // Upper bound for a first page; beyond any timestamp the application writes
+    private static final LocalDateTime FEED_START = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final Comparator<ActivityItem> NEWEST_FIRST = Comparator
+            .comparing(ActivityItem::getOccurredAt)
+            .thenComparing(ActivityItem::getKind)
+            .thenComparing(ActivityItem::getId)
+            .reversed();
+    // Read past a change's own entries, for ones committed alongside it
+    private static final int APPEND_SLACK = 16;
+    
+    private final CommentRepository commentRepository;
+    private final TaskStatusEventRepository taskStatusEventRepository;
+    private final TaskAssignmentEventRepository taskAssignmentEventRepository;
+    private final ProjectMembershipIndex membershipIndex;
+    
+    // Projects with a first-page load in flight; a change during one keeps it from being installed
+    private final ConcurrentHashMap<Long, Loading> loading = new ConcurrentHashMap<>();
+    
+    @Value("${activity.feed.buffer-size:200}")
+    private int bufferSize;
+    
+    @Value("${activity.feed.max-projects:1000}")
+    private long maxBufferedProjects;
+    
+    private Cache<Long, RecentActivity> recent;
+    
+    @PostConstruct
+    void init() {
+        recent = Caffeine.newBuilder()
+                .maximumSize(maxBufferedProjects)
+                .build();
+    }
+    
+    public ActivityPage findPage(Long projectId, String cursor, Integer limit, Long userId) {
+        if (!membershipIndex.isOwnerOrMember(projectId, userId)) {
+            throw new SecurityException("User not authorized to view this project's activity");
+        }
+        int pageSize = limit == null || limit <= 0 ? TaskService.DEFAULT_PAGE_SIZE : Math.min(limit, TaskService.MAX_PAGE_SIZE);
+        
+        if (cursor == null && pageSize <= bufferSize) {
+            RecentActivity buffered = recentActivity(projectId);
+            List<ActivityItem> items = buffered.items;
+            if (items.size() <= pageSize) {
+                return new ActivityPage(items, buffered.complete ? null : encode(items.get(items.size() - 1)));
+            }
+            List<ActivityItem> page = items.subList(0, pageSize);
+            return new ActivityPage(page, encode(page.get(pageSize - 1)));
+        }
+        
+        List<ActivityItem> rows = merge(projectId, cursor != null ? decode(cursor) : null, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new ActivityPage(rows, null);
+        }
+        List<ActivityItem> page = rows.subList(0, pageSize);
+        return new ActivityPage(page, encode(page.get(pageSize - 1)));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        // Title/description edits are not feed entries
+        if (event.getType() == TaskChangedEvent.Type.UPDATED) {
+            return;
+        }
+        Long projectId = event.getProjectId();
+        loading.computeIfPresent(projectId, (id, load) -> {
+            load.changes++;
+            return load;
+        });
+        
+        Kind added = addedKind(event.getType());
+        if (added == null || event.getTaskIds().size() > bufferSize) {
+            recent.invalidate(projectId);
+            return;
+        }
+        if (recent.getIfPresent(projectId) == null) {
+            return;
+        }
+        
+        int limit = Math.min(event.getTaskIds().size() + APPEND_SLACK, bufferSize);
+        List<ActivityItem> newest = merge(projectId, null, limit);
+        // Entries of this change missing from the newest means more committed meanwhile than were read
+        boolean covered = newest.size() < limit || event.getTaskIds().stream().allMatch(taskId ->
+                newest.stream().anyMatch(item -> item.getKind() == added && taskId.equals(item.getTaskId())));
+        recent.asMap().computeIfPresent(projectId, (id, current) ->
+                covered ? current.with(newest, limit, bufferSize) : null);
+    }
+    
+    /**
+     * The kind of entry a change adds, or null when it edits or removes entries.
+     */
+    private static Kind addedKind(TaskChangedEvent.Type type) {
+        switch (type) {
+            case CREATED:
+            case STATUS_CHANGED:
+                return Kind.STATUS_CHANGE;
+            case ASSIGNED:
+                return Kind.ASSIGNMENT;
+            case COMMENTED:
+                return Kind.COMMENT;
+            default:
+                return null;
+        }
+    }
+    
+    private RecentActivity recentActivity(Long projectId) {
+        RecentActivity buffered = recent.getIfPresent(projectId);
+        if (buffered != null) {
+            return buffered;
+        }
+        
+        long[] changesAtStart = new long[1];
+        loading.compute(projectId, (id, load) -> {
+            load = load != null ? load : new Loading();
+            load.loaders++;
+            changesAtStart[0] = load.changes;
+            return load;
+        });
+        List<ActivityItem> rows;
+        try {
+            rows = merge(projectId, null, bufferSize + 1);
+        } catch (RuntimeException e) {
+            loading.computeIfPresent(projectId, (id, load) -> --load.loaders == 0 ? null : load);
+            throw e;
+        }
+        boolean complete = rows.size() <= bufferSize;
+        RecentActivity loaded = new RecentActivity(
+                List.copyOf(complete ? rows : rows.subList(0, bufferSize)), complete);
+        // Installed only if nothing changed while loading; otherwise the next read reloads
+        loading.computeIfPresent(projectId, (id, load) -> {
+            if (load.changes == changesAtStart[0]) {
+                recent.asMap().putIfAbsent(id, loaded);
+            }
+            return --load.loaders == 0 ? null : load;
+        });
+        return loaded;
+    }
+    
+    /**
+     * Up to limit feed items strictly after the cursor key (or from the
+     * newest), merged from one sorted query per source.
+     */
+    private List<ActivityItem> merge(Long projectId, ActivityItem after, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        List<List<ActivityItem>> sources = new ArrayList<>(Kind.values().length);
+        
+        List<ActivityItem> comments = new ArrayList<>();
+        for (Object[] row : commentRepository.findFeedPage(projectId, before(after), beforeId(after, Kind.COMMENT), page)) {
+            String content = (String) row[4];
+            comments.add(ActivityItem.builder()
+                    .kind(Kind.COMMENT)
+                    .id((Long) row[0])
+                    .taskId((Long) row[1])
+                    .actor((String) row[2])
+                    .occurredAt((LocalDateTime) row[3])
+                    .content(content.length() > EXCERPT_LENGTH ? content.substring(0, EXCERPT_LENGTH) : content)
+                    .build());
+        }
+        sources.add(comments);
+        
+        List<ActivityItem> statusChanges = new ArrayList<>();
+        for (Object[] row : taskStatusEventRepository.findFeedPage(projectId, before(after), beforeId(after, Kind.STATUS_CHANGE), page)) {
+            TaskStatus from = (TaskStatus) row[4];
+            statusChanges.add(ActivityItem.builder()
+                    .kind(Kind.STATUS_CHANGE)
+                    .id((Long) row[0])
+                    .taskId((Long) row[1])
+                    .actor((String) row[2])
+                    .occurredAt((LocalDateTime) row[3])
+                    .fromStatus(from != null ? from.name() : null)
+                    .toStatus(((TaskStatus) row[5]).name())
+                    .build());
+        }
+        sources.add(statusChanges);
+        
+        List<ActivityItem> assignments = new ArrayList<>();
+        for (Object[] row : taskAssignmentEventRepository.findFeedPage(projectId, before(after), beforeId(after, Kind.ASSIGNMENT), page)) {
+            assignments.add(ActivityItem.builder()
+                    .kind(Kind.ASSIGNMENT)
+                    .id((Long) row[0])
+                    .taskId((Long) row[1])
+                    .actor((String) row[2])
+                    .occurredAt((LocalDateTime) row[3])
+                    .previousAssigneeId((Long) row[4])
+                    .assigneeId((Long) row[5])
+                    .build());
+        }
+        sources.add(assignments);
+        
+        return mergeSorted(sources, limit);
+    }
+    
+    /**
+     * K-way merge of lists that are each sorted NEWEST_FIRST.
+     */
+    static List<ActivityItem> mergeSorted(List<List<ActivityItem>> sources, int limit) {
+        PriorityQueue<Head> heads = new PriorityQueue<>(sources.size(), (a, b) -> NEWEST_FIRST.compare(a.item, b.item));
+        for (List<ActivityItem> source : sources) {
+            Iterator<ActivityItem> iterator = source.iterator();
+            if (iterator.hasNext()) {
+                heads.add(new Head(iterator.next(), iterator));
+            }
+        }
+        
+        List<ActivityItem> merged = new ArrayList<>(limit);
+        while (merged.size() < limit && !heads.isEmpty()) {
+            Head head = heads.poll();
+            merged.add(head.item);
+            if (head.rest.hasNext()) {
+                heads.add(new Head(head.rest.next(), head.rest));
+            }
+        }
+        return merged;
+    }
+    
+    private static LocalDateTime before(ActivityItem after) {
+        return after != null ? after.getOccurredAt() : FEED_START;
+    }
+    
+    /**
+     * Id bound for a source at the cursor's instant: at the same time, kinds
+     * that sort after the cursor's kind are all included, the cursor's own
+     * kind continues below its id, and kinds that sort before it are done.
+     */
+    private static long beforeId(ActivityItem after, Kind kind) {
+        if (after == null || kind.compareTo(after.getKind()) < 0) {
+            return Long.MAX_VALUE;
+        }
+        return kind == after.getKind() ? after.getId() : Long.MIN_VALUE;
+    }
+    
+    static String encode(ActivityItem item) {
+        return item.getOccurredAt() + "~" + item.getKind() + "~" + item.getId();
+    }
+    
+    static ActivityItem decode(String cursor) {
+        String[] parts = cursor.split("~");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed activity cursor");
+        }
+        try {
+            return ActivityItem.builder()
+                    .occurredAt(LocalDateTime.parse(parts[0]))
+                    .kind(Kind.valueOf(parts[1]))
+                    .id(Long.parseLong(parts[2]))
+                    .build();
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed activity cursor");
+        }
+    }
+    
+    private static final class RecentActivity {
+        final List<ActivityItem> items;
+        // True when items is the project's whole feed, not just its newest entries
+        final boolean complete;
+        
+        RecentActivity(List<ActivityItem> items, boolean complete) {
+            this.items = items;
+            this.complete = complete;
+        }
+        
+        /**
+         * This buffer with newest merged in, trimmed to bufferSize; newest is
+         * the feed's first limit entries. Null when newest does not reach
+         * back to the buffered entries, so entries between them may be missing.
+         */
+        RecentActivity with(List<ActivityItem> newest, int limit, int bufferSize) {
+            if (newest.size() == limit
+                    && (items.isEmpty() || NEWEST_FIRST.compare(newest.get(limit - 1), items.get(0)) < 0)) {
+                return null;
+            }
+            List<ActivityItem> merged = new ArrayList<>(bufferSize);
+            for (ActivityItem item : mergeSorted(List.of(newest, items), newest.size() + items.size())) {
+                // Both lists hold entries already buffered: keep one copy
+                if (merged.isEmpty() || NEWEST_FIRST.compare(merged.get(merged.size() - 1), item) != 0) {
+                    merged.add(item);
+                }
+            }
+            boolean stillComplete = complete && merged.size() <= bufferSize;
+            return new RecentActivity(List.copyOf(merged.size() > bufferSize ? merged.subList(0, bufferSize) : merged),
+                    stillComplete);
+        }
+    }
+    
+    private static final class Loading {
+        // Guarded by the loading map's per-key locking
+        int loaders;
+        long changes;
+    }
+    
+    private static final class Head {
+        final ActivityItem item;
+        final Iterator<ActivityItem> rest;
+        
+        Head(ActivityItem item, Iterator<ActivityItem> rest) {
+            this.item = item;
+            this.rest = rest;
+        }
+    }
+}
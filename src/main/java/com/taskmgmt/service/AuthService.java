@@ -2,12 +2,12 @@ package com.taskmgmt.service;
 
 import com.taskmgmt.model.User;
 import com.taskmgmt.repository.UserRepository;
+import com.taskmgmt.security.SecurityEpochRegistry;
+import com.taskmgmt.service.JwtTokenService.TokenClaims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -18,16 +18,24 @@ import java.util.Optional;
 public class AuthService {
     private final UserRepository userRepository;
     private final JwtTokenService jwtTokenService;
+    private final UserService userService;
+    private final SecurityEpochRegistry securityEpochRegistry;
+    private final TokenRevocationService tokenRevocationService;
+    private final PasswordHashingService passwordHashingService;
     private final LegacyAuthService legacyAuthService; // Legacy auth - still in use
     
     @Value("${legacy.auth.enabled:true}")
     private boolean legacyAuthEnabled;
     
+    @Value("${auth.stateless-principal.enabled:false}")
+    private boolean statelessPrincipal;
+    
     /**
      * Authenticates user and returns token.
      * Uses new JWT system by default, falls back to legacy if enabled.
+     * Not transactional on purpose: no connection is held while the password
+     * hash is checked on the hashing executor.
      */
-    @Transactional
     public AuthResult authenticate(String username, String password) {
         log.info("Authenticating user: {}", username);
         
@@ -47,6 +55,12 @@ public class AuthService {
             return AuthResult.failure("Invalid credentials");
         }
         
+        // Upgrade outdated hashes while we have the plaintext
+        if (passwordHashingService.needsRehash(user.getPasswordHash())) {
+            user.setPasswordHash(passwordHashingService.hash(password));
+            log.info("Rehashed password for user: {}", username);
+        }
+        
         // Update last login
         user.setLastLoginAt(LocalDateTime.now());
         userRepository.save(user);
@@ -64,17 +78,10 @@ public class AuthService {
     }
     
     /**
-     * Validates password - might have multiple implementations
+     * Validates password against BCrypt or legacy hashes.
      */
     private boolean validatePassword(User user, String password) {
-        // Simple hash comparison - production would use BCrypt
-        String hash = hashPassword(password);
-        return user.getPasswordHash().equals(hash);
-    }
-    
-    private String hashPassword(String password) {
-        // TODO: Replace with proper BCrypt hashing
-        return String.valueOf(password.hashCode());
+        return passwordHashingService.matches(password, user.getPasswordHash());
     }
     
     private boolean isLegacyUser(User user) {
@@ -82,32 +89,66 @@ public class AuthService {
         return user.getSessionToken() != null && !user.getSessionToken().isEmpty();
     }
     
-    @Cacheable(value = "userCache", key = "#token")
+    /**
+     * Resolves the user behind a token.
+     * JWTs are recognised by shape so they never cost a legacy session lookup;
+     * their claims come from the verified-claims cache and must match the
+     * user's current security epoch.
+     */
     public Optional<User> validateToken(String token) {
-        // Try legacy first if enabled (it returns User directly)
-        if (legacyAuthEnabled) {
-            Optional<User> legacyUser = legacyAuthService.validateLegacyToken(token);
-            if (legacyUser.isPresent()) {
-                return legacyUser;
-            }
+        if (isJwt(token)) {
+            return jwtTokenService.verify(token)
+                    .filter(claims -> claims.getUserId() != null)
+                    .filter(claims -> securityEpochRegistry.isCurrent(claims.getUserId(), claims.getEpoch()))
+                    .filter(claims -> !tokenRevocationService.isRevoked(claims.getTokenDigest()))
+                    .flatMap(this::resolvePrincipal);
         }
         
-        // Try JWT - need to fetch user after validation
-        try {
-            String username = jwtTokenService.getUsernameFromToken(token);
-            return userRepository.findByUsername(username);
-        } catch (Exception e) {
-            log.debug("JWT token validation failed: {}", e.getMessage());
-            return Optional.empty();
+        if (legacyAuthEnabled) {
+            return legacyAuthService.validateLegacyToken(token);
+        }
+        return Optional.empty();
+    }
+    
+    /**
+     * Ends the session behind a token: JWTs are revoked until they expire,
+     * legacy session tokens are cleared.
+     */
+    public void logout(String token) {
+        if (isJwt(token)) {
+            jwtTokenService.verify(token).ifPresent(tokenRevocationService::revoke);
+        } else if (legacyAuthEnabled) {
+            legacyAuthService.invalidateToken(token);
         }
     }
     
     public String getUsernameFromToken(String token) {
-        try {
-            return jwtTokenService.getUsernameFromToken(token);
-        } catch (Exception e) {
-            return null;
+        return jwtTokenService.verify(token)
+                .map(TokenClaims::getUsername)
+                .orElse(null);
+    }
+    
+    /**
+     * In stateless mode the principal is rebuilt from claims alone; the epoch
+     * check above already rejects tokens of deactivated or re-roled users.
+     * Otherwise the user comes from the id-keyed userCache.
+     */
+    private Optional<User> resolvePrincipal(TokenClaims claims) {
+        if (!statelessPrincipal) {
+            return userService.findById(claims.getUserId());
         }
+        return Optional.of(User.builder()
+                .id(claims.getUserId())
+                .username(claims.getUsername())
+                .role(User.UserRole.valueOf(claims.getRole()))
+                .securityEpoch(claims.getEpoch())
+                .active(true)
+                .build());
+    }
+    
+    private boolean isJwt(String token) {
+        // Compact JWS is header.payload.signature; legacy tokens are UUIDs
+        return token.indexOf('.') > 0;
     }
     
     public static class AuthResult {
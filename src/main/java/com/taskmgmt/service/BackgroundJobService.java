@@ -1,5 +1,6 @@
 package com.taskmgmt.service;
 
+import com.taskmgmt.dto.TaskDTO;
 import com.taskmgmt.model.Task;
 import com.taskmgmt.repository.TaskRepository;
 import lombok.RequiredArgsConstructor;
@@ -21,50 +22,64 @@ import java.util.List;
 public class BackgroundJobService {
     private final TaskRepository taskRepository;
     private final NotificationService notificationService;
+    private final DueDateTracker dueDateTracker;
+    private final TaskArchiveService taskArchiveService;
+    private final ProjectStatsWarmer projectStatsWarmer;
     
     /**
-     * Sends notifications for overdue tasks.
-     * Runs every hour.
+     * Sends notifications for tasks that became overdue.
+     * Runs at the start of every minute; due tasks come from the in-memory
+     * DueDateTracker, so an idle tick does no database work.
      */
-    @Scheduled(fixedRate = 3600000) // 1 hour
-    @Transactional
+    @Scheduled(cron = "0 * * * * ?")
+    @Transactional(readOnly = true)
     public void notifyOverdueTasks() {
-        log.info("Starting overdue task notification job");
-        
         LocalDateTime now = LocalDateTime.now();
-        // This would need proper user lookup - simplified for now
-        // List<Task> overdueTasks = taskRepository.findOverdueTasksForUser(userId, now);
+        List<Long> dueTaskIds = dueDateTracker.pollDue(now);
+        if (dueTaskIds.isEmpty()) {
+            return;
+        }
+        
+        // Re-checked against the row in case a change has not reached the tracker yet
+        List<TaskDTO> overdueTasks = taskRepository.findOverdueDtosByIds(dueTaskIds, now,
+                Task.TaskStatus.COMPLETED, Task.TaskStatus.CANCELLED);
+        for (TaskDTO task : overdueTasks) {
+            try {
+                notificationService.notifyTaskOverdue(task);
+            } catch (Exception e) {
+                log.error("Failed to send overdue notification for task: {}", task.getId(), e);
+            }
+        }
         
-        log.info("Overdue task notification job completed");
+        log.info("Overdue task notification job completed: {} tasks", overdueTasks.size());
     }
     
     /**
-     * Cleans up old completed tasks.
-     * Runs daily at 2 AM.
+     * Archives old completed tasks to cold storage.
+     * Runs daily at 2 AM; each chunk commits on its own, so a long backlog
+     * never holds one big transaction.
      */
-    @Scheduled(cron = "0 0 2 * * ?")
-    @Transactional
+    @Scheduled(cron = "${archive.cron:0 0 2 * * ?}")
     public void cleanupOldCompletedTasks() {
         log.info("Starting cleanup of old completed tasks");
         
-        // TODO: Implement cleanup logic
-        // Would archive or delete tasks completed more than 1 year ago
+        int archived = taskArchiveService.archiveExpired();
         
-        log.info("Cleanup job completed");
+        log.info("Cleanup job completed: {} tasks archived", archived);
     }
     
     /**
      * Updates project statistics cache.
-     * Runs every 6 hours.
+     * Runs every 6 hours; the startup run is ProjectStatsWarmer's ready listener.
      */
-    @Scheduled(fixedRate = 21600000) // 6 hours
+    @Scheduled(fixedRateString = "${stats.warmup.interval-ms:21600000}",
+            initialDelayString = "${stats.warmup.interval-ms:21600000}")
     public void refreshProjectStatsCache() {
         log.info("Refreshing project statistics cache");
         
-        // TODO: Implement cache refresh for all active projects
-        // This would pre-populate the cache to reduce load
+        int warmed = projectStatsWarmer.warmUp();
         
-        log.info("Cache refresh completed");
+        log.info("Cache refresh completed: {} projects", warmed);
     }
 }
 
@@ -0,0 +1,188 @@
+package com.taskmgmt.service;
+
+import com.taskmgmt.dto.TaskChangeMessage;
+import com.taskmgmt.event.TaskChangedEvent;
+import com.taskmgmt.model.User;
+import com.taskmgmt.security.ProjectMembershipIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-Sent Events stream of committed task changes, per project.
+ * Connections are servlet-async, so an idle subscriber holds no thread. Each
+ * subscriber has a bounded buffer; publishing only offers to it and, if no
+ * drain is running, schedules one on the small dispatch pool. A subscriber
+ * whose buffer is full is disconnected - the client reconnects and re-fetches.
+ */
+@Service
+@Slf4j
+public class BoardEventService {
+    private final ProjectMembershipIndex membershipIndex;
+    private final ThreadPoolTaskExecutor executor;
+    private final ConcurrentHashMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    
+    @Value("${sse.subscriber.buffer-size:64}")
+    private int bufferSize;
+    
+    @Value("${sse.timeout-ms:1800000}")
+    private long timeoutMillis;
+    
+    public BoardEventService(ProjectMembershipIndex membershipIndex,
+                             @Qualifier("sseDispatchExecutor") ThreadPoolTaskExecutor executor) {
+        this.membershipIndex = membershipIndex;
+        this.executor = executor;
+    }
+    
+    public SseEmitter subscribe(Long projectId, User user) {
+        if (!membershipIndex.isOwnerOrMember(projectId, user.getId())) {
+            throw new SecurityException("User not authorized to view this project");
+        }
+        
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(projectId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        subscribers.computeIfAbsent(projectId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        return emitter;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        Set<Subscriber> projectSubscribers = subscribers.get(event.getProjectId());
+        if (projectSubscribers == null || projectSubscribers.isEmpty()) {
+            return;
+        }
+        
+        // Board clients see any comment change as COMMENTED, as before edits had their own type
+        TaskChangedEvent.Type type = event.getType() == TaskChangedEvent.Type.COMMENT_EDITED
+                ? TaskChangedEvent.Type.COMMENTED : event.getType();
+        TaskChangeMessage message = new TaskChangeMessage(type.name(), event.getProjectId(),
+                event.getTaskIds(), event.getActorId(), LocalDateTime.now());
+        Outbound outbound = new Outbound(sequence.incrementAndGet(), message);
+        projectSubscribers.forEach(subscriber -> offer(subscriber, outbound));
+    }
+    
+    /**
+     * Keeps idle connections open through proxies and finds dead ones.
+     */
+    @Scheduled(fixedDelayString = "${sse.heartbeat-ms:30000}")
+    public void heartbeat() {
+        for (Set<Subscriber> projectSubscribers : subscribers.values()) {
+            projectSubscribers.forEach(subscriber -> offer(subscriber, Outbound.HEARTBEAT));
+        }
+    }
+    
+    public int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+    
+    @PreDestroy
+    void closeAll() {
+        for (Set<Subscriber> projectSubscribers : subscribers.values()) {
+            projectSubscribers.forEach(subscriber -> subscriber.emitter.complete());
+        }
+        subscribers.clear();
+    }
+    
+    private void offer(Subscriber subscriber, Outbound outbound) {
+        if (!subscriber.buffer.offer(outbound)) {
+            log.info("Dropping slow SSE subscriber on project {}", subscriber.projectId);
+            unsubscribe(subscriber);
+            subscriber.emitter.complete();
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> drain(subscriber));
+            } catch (Exception e) {
+                subscriber.draining.set(false);
+                log.warn("SSE dispatch pool rejected drain for project {}", subscriber.projectId);
+            }
+        }
+    }
+    
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            Outbound outbound;
+            while ((outbound = subscriber.buffer.poll()) != null) {
+                try {
+                    subscriber.emitter.send(outbound.toEvent());
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away or the emitter already completed
+                    unsubscribe(subscriber);
+                    subscriber.buffer.clear();
+                    return;
+                }
+            }
+            subscriber.draining.set(false);
+            // An offer that raced with the reset above may not have scheduled a drain
+            if (subscriber.buffer.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+    
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.projectId, (id, projectSubscribers) -> {
+            projectSubscribers.remove(subscriber);
+            return projectSubscribers.isEmpty() ? null : projectSubscribers;
+        });
+    }
+    
+    private static final class Subscriber {
+        final Long projectId;
+        final SseEmitter emitter;
+        final ArrayBlockingQueue<Outbound> buffer;
+        final AtomicBoolean draining = new AtomicBoolean();
+        
+        Subscriber(Long projectId, SseEmitter emitter, ArrayBlockingQueue<Outbound> buffer) {
+            this.projectId = projectId;
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+    }
+    
+    /**
+     * One queued event, shared by all subscribers of the project. The SSE
+     * builder is stateful, so each send builds its own.
+     */
+    private static final class Outbound {
+        static final Outbound HEARTBEAT = new Outbound(0, null);
+        
+        final long id;
+        final TaskChangeMessage message;
+        
+        Outbound(long id, TaskChangeMessage message) {
+            this.id = id;
+            this.message = message;
+        }
+        
+        SseEmitter.SseEventBuilder toEvent() {
+            if (message == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event()
+                    .id(String.valueOf(id))
+                    .name(message.getType())
+                    .data(message, MediaType.APPLICATION_JSON);
+        }
+    }
+}
@@ -3,8 +3,12 @@ package com.taskmgmt.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+import java.util.function.Predicate;
+
 /**
  * Cache management service.
  * Handles cache invalidation across the application.
@@ -15,7 +19,7 @@ import org.springframework.stereotype.Service;
 public class CacheService {
     private final CacheManager cacheManager;
     
-    public void evictCache(String cacheName, String key) {
+    public void evictCache(String cacheName, Object key) {
         var cache = cacheManager.getCache(cacheName);
         if (cache != null) {
             cache.evict(key);
@@ -23,6 +27,27 @@ public class CacheService {
         }
     }
     
+    /**
+     * Loads many entries, skipping keys the filter rejects. On a Caffeine
+     * cache the filter is evaluated atomically with each key's write, so an
+     * eviction that follows a rejected check cannot be overwritten.
+     */
+    public <K> void putAll(String cacheName, Map<K, ?> entries, Predicate<? super K> installable) {
+        var cache = cacheManager.getCache(cacheName);
+        if (cache instanceof CaffeineCache) {
+            Map<Object, Object> nativeMap = ((CaffeineCache) cache).getNativeCache().asMap();
+            entries.forEach((key, value) ->
+                    nativeMap.compute(key, (k, current) -> installable.test(key) ? value : current));
+        } else if (cache != null) {
+            entries.forEach((key, value) -> {
+                if (installable.test(key)) {
+                    cache.put(key, value);
+                }
+            });
+        }
+        log.debug("Loaded {} entries into cache: {}", entries.size(), cacheName);
+    }
+    
     public void evictAll(String cacheName) {
         var cache = cacheManager.getCache(cacheName);
         if (cache != null) {
@@ -1,26 +1,102 @@
 package com.taskmgmt.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskmgmt.dto.CommentDTO;
+import com.taskmgmt.dto.CursorPage;
+import com.taskmgmt.event.TaskChangedEvent;
 import com.taskmgmt.model.Comment;
 import com.taskmgmt.model.Task;
 import com.taskmgmt.model.User;
 import com.taskmgmt.repository.CommentRepository;
+import com.taskmgmt.repository.TaskRepository;
+import com.taskmgmt.security.ProjectMembershipIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Comment threads and per-task comment counts.
+ * Active-comment counts are cached per task: misses for a whole board are
+ * loaded with one grouped query, and create/delete adjust cached counts
+ * after commit. Entries expire, which bounds any drift from a count loaded
+ * concurrently with a write.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CommentService {
+    static final int MAX_COUNT_BATCH = 500;
+    
     private final CommentRepository commentRepository;
+    private final TaskRepository taskRepository;
     private final TaskService taskService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProjectMembershipIndex membershipIndex;
+    
+    @Value("${comments.count-cache.max-size:100000}")
+    private long countCacheMaxSize;
+    
+    @Value("${comments.count-cache.expire-after-write-seconds:300}")
+    private long countCacheExpireSeconds;
+    
+    private Cache<Long, Long> activeCounts;
+    
+    @PostConstruct
+    void initCountCache() {
+        activeCounts = Caffeine.newBuilder()
+                .maximumSize(countCacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(countCacheExpireSeconds))
+                .build();
+    }
     
-    public List<Comment> findByTaskId(Long taskId) {
-        // Uses soft delete filter
-        return commentRepository.findActiveCommentsByTaskId(taskId);
+    /**
+     * Active comments on a task, newest first. The cursor is the id of the
+     * last comment of the previous page.
+     */
+    public CursorPage<CommentDTO> findThread(Long taskId, Long cursor, Integer limit) {
+        if (!taskRepository.existsById(taskId)) {
+            throw new IllegalArgumentException("Task not found");
+        }
+        int pageSize = limit == null || limit <= 0 ? TaskService.DEFAULT_PAGE_SIZE : Math.min(limit, TaskService.MAX_PAGE_SIZE);
+        long beforeId = cursor != null ? cursor : Long.MAX_VALUE;
+        List<CommentDTO> rows = commentRepository.findThreadPage(taskId, beforeId, PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, CommentDTO::getId);
+    }
+    
+    /**
+     * Active comment count for each requested task; tasks without comments
+     * (or unknown ids) map to 0.
+     */
+    public Map<Long, Long> countActiveByTaskIds(List<Long> taskIds) {
+        if (taskIds.size() > MAX_COUNT_BATCH) {
+            throw new IllegalArgumentException("At most " + MAX_COUNT_BATCH + " task ids per request");
+        }
+        return activeCounts.getAll(taskIds, missing -> {
+            Map<Long, Long> loaded = new HashMap<>();
+            List<Long> missingIds = new ArrayList<>();
+            for (Long taskId : missing) {
+                loaded.put(taskId, 0L);
+                missingIds.add(taskId);
+            }
+            for (Object[] row : commentRepository.countActiveByTaskIds(missingIds)) {
+                loaded.put((Long) row[0], (Long) row[1]);
+            }
+            return loaded;
+        });
     }
     
     @Transactional
@@ -30,10 +106,7 @@ public class CommentService {
         Task task = taskService.findById(taskId);
         
         // Authorization: author must be project member
-        boolean isAuthorized = task.getProject().getOwner().getId().equals(author.getId()) ||
-                task.getProject().getMembers().stream().anyMatch(m -> m.getId().equals(author.getId()));
-        
-        if (!isAuthorized) {
+        if (!membershipIndex.isOwnerOrMember(task.getProject().getId(), author.getId())) {
             throw new SecurityException("User not authorized to comment on this task");
         }
         
@@ -41,10 +114,14 @@ public class CommentService {
                 .content(content)
                 .task(task)
                 .author(author)
+                .projectId(task.getProject().getId())
                 .deleted(false)
                 .build();
         
-        return commentRepository.save(comment);
+        Comment savedComment = commentRepository.save(comment);
+        adjustCountAfterCommit(taskId, 1);
+        publish(TaskChangedEvent.Type.COMMENTED, task, author);
+        return savedComment;
     }
     
     @Transactional
@@ -62,7 +139,9 @@ public class CommentService {
         }
         
         comment.setContent(content);
-        return commentRepository.save(comment);
+        Comment savedComment = commentRepository.save(comment);
+        publish(TaskChangedEvent.Type.COMMENT_EDITED, comment.getTask(), updater);
+        return savedComment;
     }
     
     @Transactional
@@ -72,16 +151,36 @@ public class CommentService {
         
         // Authorization: author or project owner/admin can delete
         boolean canDelete = comment.getAuthor().getId().equals(deleter.getId()) ||
-                comment.getTask().getProject().getOwner().getId().equals(deleter.getId()) ||
+                membershipIndex.isOwner(comment.getTask().getProject().getId(), deleter.getId()) ||
                 deleter.getRole() == User.UserRole.ADMIN;
         
         if (!canDelete) {
             throw new SecurityException("User not authorized to delete comment");
         }
         
+        if (comment.getDeleted()) {
+            return;
+        }
+        
         // Soft delete - comment remains in database
         comment.setDeleted(true);
         commentRepository.save(comment);
+        adjustCountAfterCommit(comment.getTask().getId(), -1);
+        publish(TaskChangedEvent.Type.COMMENT_EDITED, comment.getTask(), deleter);
+    }
+    
+    private void adjustCountAfterCommit(Long taskId, long delta) {
+        // Only cached counts are adjusted; an absent entry is loaded fresh on next read
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                activeCounts.asMap().computeIfPresent(taskId, (id, count) -> Math.max(0L, count + delta));
+            }
+        });
+    }
+    
+    private void publish(TaskChangedEvent.Type type, Task task, User actor) {
+        eventPublisher.publishEvent(TaskChangedEvent.of(type, task.getProject().getId(), task.getId(), actor.getId()));
     }
 }
 
@@ -0,0 +1,153 @@
+package com.taskmgmt.service;
+
+import com.taskmgmt.model.Task.TaskStatus;
+import com.taskmgmt.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * In-memory min-heap of open tasks ordered by due minute.
+ * Loaded once at startup and kept current by task writes (applied after
+ * commit), so finding what just became overdue is a heap poll instead of a
+ * table scan. Rescheduling and closing leave the old heap entry in place;
+ * dueMinuteByTask is the source of truth and stale entries are skipped when
+ * they surface.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DueDateTracker {
+    private final TaskRepository taskRepository;
+    
+    private final PriorityQueue<DueEntry> heap = new PriorityQueue<>(
+            Comparator.comparingLong(DueEntry::getDueMinute).thenComparingLong(DueEntry::getTaskId));
+    private final Map<Long, Long> dueMinuteByTask = new HashMap<>();
+    
+    @PostConstruct
+    void load() {
+        // Tasks that were already overdue were handled (or missed) before the restart
+        List<Object[]> rows = taskRepository.findOpenDueDates(LocalDateTime.now(), TaskStatus.COMPLETED, TaskStatus.CANCELLED);
+        synchronized (this) {
+            for (Object[] row : rows) {
+                schedule((Long) row[0], dueMinute((LocalDateTime) row[1]));
+            }
+        }
+        log.info("Tracking due dates for {} open tasks", rows.size());
+    }
+    
+    /**
+     * Records a task's current due date and status. Closed tasks and tasks
+     * without a due date are dropped. Inside a transaction the change is
+     * applied only once it commits.
+     */
+    public void track(Long taskId, LocalDateTime dueDate, TaskStatus status) {
+        if (dueDate == null || isClosed(status)) {
+            untrack(taskId);
+            return;
+        }
+        long dueMinute = dueMinute(dueDate);
+        afterCommit(() -> {
+            synchronized (this) {
+                schedule(taskId, dueMinute);
+            }
+        });
+    }
+    
+    public void untrack(Long taskId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                dueMinuteByTask.remove(taskId);
+            }
+        });
+    }
+    
+    /**
+     * Removes and returns the tasks whose due minute is at or before now.
+     */
+    public synchronized List<Long> pollDue(LocalDateTime now) {
+        long nowMinute = now.toEpochSecond(ZoneOffset.UTC) / 60;
+        List<Long> due = new ArrayList<>();
+        while (!heap.isEmpty() && heap.peek().getDueMinute() <= nowMinute) {
+            DueEntry entry = heap.poll();
+            Long current = dueMinuteByTask.get(entry.getTaskId());
+            if (current != null && current == entry.getDueMinute()) {
+                dueMinuteByTask.remove(entry.getTaskId());
+                due.add(entry.getTaskId());
+            }
+        }
+        return due;
+    }
+    
+    public synchronized int size() {
+        return dueMinuteByTask.size();
+    }
+    
+    private void schedule(Long taskId, long dueMinute) {
+        Long previous = dueMinuteByTask.put(taskId, dueMinute);
+        if (previous == null || previous != dueMinute) {
+            heap.add(new DueEntry(taskId, dueMinute));
+        }
+        compactIfStale();
+    }
+    
+    private void compactIfStale() {
+        // Superseded entries only leave the heap when polled; rebuild once they dominate
+        if (heap.size() > 1024 && heap.size() > dueMinuteByTask.size() * 2) {
+            heap.clear();
+            dueMinuteByTask.forEach((taskId, dueMinute) -> heap.add(new DueEntry(taskId, dueMinute)));
+        }
+    }
+    
+    private static boolean isClosed(TaskStatus status) {
+        return status == TaskStatus.COMPLETED || status == TaskStatus.CANCELLED;
+    }
+    
+    // Rounded up so a task never fires before its due time
+    private static long dueMinute(LocalDateTime dueDate) {
+        return Math.floorDiv(dueDate.toEpochSecond(ZoneOffset.UTC) + 59, 60);
+    }
+    
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    private static final class DueEntry {
+        private final long taskId;
+        private final long dueMinute;
+        
+        DueEntry(long taskId, long dueMinute) {
+            this.taskId = taskId;
+            this.dueMinute = dueMinute;
+        }
+        
+        long getTaskId() {
+            return taskId;
+        }
+        
+        long getDueMinute() {
+            return dueMinute;
+        }
+    }
+}
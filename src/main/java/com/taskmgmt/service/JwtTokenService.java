@@ -1,29 +1,65 @@
 package com.taskmgmt.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.taskmgmt.model.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JWT-based stateless authentication service.
  * This is the new authentication system replacing legacy session tokens.
+ *
+ * Each token is parsed and signature-checked once; the verified claims are
+ * kept in a dedicated cache keyed by a SHA-256 digest of the token until the
+ * token's own expiry, so repeat requests skip the HS512 verification.
  */
 @Service
 @Slf4j
 public class JwtTokenService {
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+    
     @Value("${jwt.secret}")
     private String secret;
     
     @Value("${jwt.expiration:86400000}")
     private long expiration;
     
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private long claimsCacheMaxSize;
+    
+    private Cache<String, TokenClaims> verifiedClaims;
+    
+    @PostConstruct
+    void initClaimsCache() {
+        verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+    }
+    
     public String generateToken(User user) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
@@ -31,6 +67,7 @@ public class JwtTokenService {
         Claims claims = Jwts.claims().setSubject(user.getUsername());
         claims.put("userId", user.getId());
         claims.put("role", user.getRole().toString());
+        claims.put("epoch", user.getSecurityEpoch() != null ? user.getSecurityEpoch() : 0L);
         
         return Jwts.builder()
                 .setClaims(claims)
@@ -40,39 +77,86 @@ public class JwtTokenService {
                 .compact();
     }
     
-    public Optional<User> validateToken(String token) {
+    /**
+     * Returns the verified claims of a token, parsing and checking the
+     * signature only on the first call for that token.
+     */
+    public Optional<TokenClaims> verify(String token) {
+        String digest = digest(token);
+        TokenClaims cached = verifiedClaims.getIfPresent(digest);
+        if (cached != null) {
+            if (cached.getExpiresAt() > System.currentTimeMillis()) {
+                return Optional.of(cached);
+            }
+            verifiedClaims.invalidate(digest);
+            return Optional.empty();
+        }
+        
         try {
             Claims claims = Jwts.parser()
                     .setSigningKey(secret)
                     .parseClaimsJws(token)
                     .getBody();
             
-            String username = claims.getSubject();
-            Long userId = claims.get("userId", Long.class);
-            
-            // Note: This service doesn't have access to UserRepository
-            // The caller must fetch the user - this creates a dependency pattern
-            return Optional.empty(); // Return empty - user lookup happens in AuthService
+            Long epoch = claims.get("epoch", Long.class);
+            TokenClaims verified = new TokenClaims(
+                    digest,
+                    claims.getSubject(),
+                    claims.get("userId", Long.class),
+                    claims.get("role", String.class),
+                    epoch != null ? epoch : 0L,
+                    claims.getExpiration().getTime()
+            );
+            verifiedClaims.put(digest, verified);
+            return Optional.of(verified);
         } catch (Exception e) {
             log.debug("Token validation failed: {}", e.getMessage());
             return Optional.empty();
         }
     }
     
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(secret)
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getSubject();
+    /**
+     * Drops a token from the verified-claims cache.
+     */
+    public void evict(String tokenDigest) {
+        verifiedClaims.invalidate(tokenDigest);
     }
     
-    public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(secret)
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.get("userId", Long.class);
+    public static String digest(String token) {
+        MessageDigest md = SHA256.get();
+        md.reset();
+        byte[] hash = md.digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+    
+    /**
+     * Claims of a token whose signature has already been verified.
+     */
+    @Data
+    public static class TokenClaims {
+        private final String tokenDigest;
+        private final String username;
+        private final Long userId;
+        private final String role;
+        private final long epoch;
+        private final long expiresAt;
+    }
+    
+    private static class TokenExpiry implements Expiry<String, TokenClaims> {
+        @Override
+        public long expireAfterCreate(String key, TokenClaims value, long currentTime) {
+            long remainingMillis = value.getExpiresAt() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+        
+        @Override
+        public long expireAfterUpdate(String key, TokenClaims value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+        
+        @Override
+        public long expireAfterRead(String key, TokenClaims value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
-
@@ -1,28 +1,58 @@
 package com.taskmgmt.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.taskmgmt.model.User;
 import com.taskmgmt.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Legacy authentication service.
  * TODO: Remove after migration to JWT-only system (target: Q2 2024)
- * 
+ *
  * This service maintains session tokens in the database.
  * Deprecated in favor of stateless JWT tokens.
+ *
+ * Validation is served from an in-memory token-to-user index and the
+ * id-keyed userCache. The lastLoginAt side effect is buffered per user and
+ * written behind in one JDBC batch every few seconds.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class LegacyAuthService {
     private final UserRepository userRepository;
+    private final UserService userService;
+    private final CacheService cacheService;
+    
+    // Latest validation time per user, waiting to be flushed
+    private final ConcurrentHashMap<Long, LocalDateTime> pendingLastLogin = new ConcurrentHashMap<>();
+    
+    @Value("${legacy.auth.session-index.max-size:100000}")
+    private long sessionIndexMaxSize;
+    
+    private Cache<String, Long> sessionIndex;
+    
+    @PostConstruct
+    void initSessionIndex() {
+        sessionIndex = Caffeine.newBuilder()
+                .maximumSize(sessionIndexMaxSize)
+                .build();
+    }
     
     /**
      * Generates a legacy session token and stores it in user record.
@@ -33,23 +63,40 @@ public class LegacyAuthService {
         String token = UUID.randomUUID().toString();
         user.setSessionToken(token);
         userRepository.save(user);
+        
+        // Cached copies still hold the previous token
+        cacheService.evictCache("userCache", user.getId());
+        sessionIndex.put(token, user.getId());
+        
         log.debug("Generated legacy token for user: {}", user.getUsername());
         return token;
     }
     
     /**
-     * Validates legacy token by looking up user in database.
-     * Note: This requires database lookup on every request.
+     * Validates legacy token against the session index.
+     * Only an index miss goes to the database; the lastLoginAt update is
+     * deferred to the write-behind flush.
      */
     public Optional<User> validateLegacyToken(String token) {
-        Optional<User> user = userRepository.findBySessionToken(token);
-        if (user.isPresent() && user.get().getActive()) {
-            // Update last login on token validation - side effect
-            user.get().setLastLoginAt(LocalDateTime.now());
-            userRepository.save(user.get());
-            return user;
+        Long userId = sessionIndex.getIfPresent(token);
+        if (userId == null) {
+            Optional<User> stored = userRepository.findBySessionToken(token);
+            if (stored.isEmpty()) {
+                return Optional.empty();
+            }
+            userId = stored.get().getId();
+            sessionIndex.put(token, userId);
+        }
+        
+        Optional<User> user = userService.findById(userId);
+        // Deactivation or a new login clears/replaces the stored token
+        if (user.isEmpty() || !token.equals(user.get().getSessionToken()) || !user.get().getActive()) {
+            sessionIndex.invalidate(token);
+            return Optional.empty();
         }
-        return Optional.empty();
+        
+        pendingLastLogin.put(userId, LocalDateTime.now());
+        return user;
     }
     
     /**
@@ -58,10 +105,44 @@ public class LegacyAuthService {
      */
     @Transactional
     public void invalidateToken(String token) {
+        sessionIndex.invalidate(token);
         userRepository.findBySessionToken(token).ifPresent(user -> {
             user.setSessionToken(null);
             userRepository.save(user);
+            cacheService.evictCache("userCache", user.getId());
         });
     }
+    
+    /**
+     * Writes buffered lastLoginAt values, one row per user per flush.
+     */
+    @Scheduled(fixedDelayString = "${legacy.auth.last-login-flush-ms:5000}")
+    public void flushLastLogin() {
+        if (pendingLastLogin.isEmpty()) {
+            return;
+        }
+        
+        Map<Long, LocalDateTime> batch = new HashMap<>();
+        for (Long userId : pendingLastLogin.keySet()) {
+            LocalDateTime lastLogin = pendingLastLogin.remove(userId);
+            if (lastLogin != null) {
+                batch.put(userId, lastLogin);
+            }
+        }
+        
+        try {
+            userRepository.batchUpdateLastLogin(batch);
+            log.debug("Flushed lastLoginAt for {} users", batch.size());
+        } catch (Exception e) {
+            log.error("Failed to flush lastLoginAt for {} users, will retry", batch.size(), e);
+            // Re-queue without overwriting anything newer recorded meanwhile
+            batch.forEach((userId, lastLogin) -> pendingLastLogin.merge(userId, lastLogin,
+                    (current, failed) -> current.isAfter(failed) ? current : failed));
+        }
+    }
+    
+    @PreDestroy
+    void flushOnShutdown() {
+        flushLastLogin();
+    }
 }
-
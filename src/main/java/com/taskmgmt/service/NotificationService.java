@@ -1,5 +1,6 @@
 package com.taskmgmt.service;
 
+import com.taskmgmt.dto.TaskDTO;
 import com.taskmgmt.model.Task;
 import com.taskmgmt.model.Task.TaskStatus;
 import com.taskmgmt.model.User;
@@ -34,11 +35,28 @@ public class NotificationService {
         // Currently no-op
     }
     
+    @Async
+    public void notifyTasksImported(Long projectId, int count, User importer) {
+        log.info("Notifying project {} members about {} tasks imported by {}", projectId, count, importer.getUsername());
+        // One summary instead of a notification per imported task
+    }
+    
+    @Async
+    public void notifyTasksStatusChanged(Long projectId, int count, TaskStatus newStatus, User updater) {
+        log.info("Notifying project {} members about {} tasks moved to {} by {}", projectId, count, newStatus, updater.getUsername());
+    }
+    
     @Async
     public void notifyTaskAssigned(Task task, User assignee) {
         log.info("Notifying assignee: {} about task: {}", assignee.getEmail(), task.getTitle());
     }
     
+    @Async
+    public void notifyTaskOverdue(TaskDTO task) {
+        log.info("Notifying assignee {} that task {} is overdue (due {})",
+                task.getAssigneeName(), task.getTitle(), task.getDueDate());
+    }
+    
     @Async
     public void notifyTaskStatusChanged(Task task, TaskStatus oldStatus, TaskStatus newStatus) {
         log.info("Notifying about task status change: {} -> {}", oldStatus, newStatus);
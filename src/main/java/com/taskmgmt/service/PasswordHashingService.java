@@ -0,0 +1,116 @@
+package com.taskmgmt.service;
+
+import com.taskmgmt.exception.ServiceOverloadedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * BCrypt password hashing on a dedicated bounded executor.
+ * The work factor is calibrated at startup to the largest cost that stays
+ * within the target latency (never below the configured minimum), and
+ * hashes produced with a lower cost - or the old String.hashCode() scheme -
+ * are reported as needing a rehash.
+ */
+@Service
+@Slf4j
+public class PasswordHashingService {
+    private static final int MAX_COST = 16;
+    
+    private final ThreadPoolTaskExecutor executor;
+    
+    @Value("${security.password.min-cost:10}")
+    private int minCost;
+    
+    @Value("${security.password.target-hash-ms:250}")
+    private long targetHashMillis;
+    
+    @Value("${security.password.hash-timeout-ms:5000}")
+    private long hashTimeoutMillis;
+    
+    private volatile int cost;
+    
+    public PasswordHashingService(@Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor executor) {
+        this.executor = executor;
+    }
+    
+    @PostConstruct
+    void calibrate() {
+        int chosen = minCost;
+        long elapsed = timeHash(chosen);
+        // Each cost step doubles the work
+        while (chosen < MAX_COST && elapsed * 2 <= targetHashMillis) {
+            chosen++;
+            elapsed = timeHash(chosen);
+        }
+        cost = chosen;
+        log.info("Password hashing calibrated to BCrypt cost {} (~{} ms per hash)", cost, elapsed);
+    }
+    
+    public String hash(String password) {
+        int currentCost = cost;
+        return runBounded(() -> BCrypt.hashpw(password, BCrypt.gensalt(currentCost)));
+    }
+    
+    public boolean matches(String password, String storedHash) {
+        if (storedHash == null) {
+            return false;
+        }
+        if (!isBCrypt(storedHash)) {
+            // Pre-BCrypt accounts - upgraded on their next successful login
+            return storedHash.equals(String.valueOf(password.hashCode()));
+        }
+        return runBounded(() -> BCrypt.checkpw(password, storedHash));
+    }
+    
+    public boolean needsRehash(String storedHash) {
+        return !isBCrypt(storedHash) || storedCost(storedHash) < cost;
+    }
+    
+    private <T> T runBounded(Callable<T> work) {
+        Future<T> future;
+        try {
+            future = executor.submit(work);
+        } catch (TaskRejectedException e) {
+            throw new ServiceOverloadedException("Too many concurrent logins, please retry", 1);
+        }
+        
+        try {
+            return future.get(hashTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceOverloadedException("Password hashing timed out, please retry", 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+    
+    private long timeHash(int candidateCost) {
+        long start = System.nanoTime();
+        BCrypt.hashpw("calibration-password", BCrypt.gensalt(candidateCost));
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+    
+    private static boolean isBCrypt(String storedHash) {
+        return storedHash != null && storedHash.startsWith("$2") && storedHash.length() == 60;
+    }
+    
+    private static int storedCost(String storedHash) {
+        // Format: $2a$NN$...
+        return Integer.parseInt(storedHash.substring(4, 6));
+    }
+}
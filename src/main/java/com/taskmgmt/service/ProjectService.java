@@ -1,9 +1,16 @@
 package com.taskmgmt.service;
 
+import com.taskmgmt.dto.CursorPage;
+import com.taskmgmt.dto.ProjectDTO;
+import com.taskmgmt.dto.ProjectStatsDTO;
+import com.taskmgmt.dto.ProjectSummary;
+import com.taskmgmt.exception.PreconditionFailedException;
 import com.taskmgmt.model.Project;
 import com.taskmgmt.model.Project.ProjectStatus;
+import com.taskmgmt.model.Task.TaskStatus;
 import com.taskmgmt.model.User;
 import com.taskmgmt.repository.ProjectRepository;
+import com.taskmgmt.security.ProjectMembershipIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
@@ -13,16 +20,23 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ProjectService {
+    private static final Set<TaskStatus> OPEN_STATUSES = EnumSet.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS, TaskStatus.IN_REVIEW);
+    
     private final ProjectRepository projectRepository;
-    private final TaskService taskService;
+    private final ProjectStatsService projectStatsService;
     private final CacheService cacheService;
+    private final ProjectMembershipIndex membershipIndex;
     
     @Cacheable(value = "projectCache", key = "#id")
     public Project findById(Long id) {
@@ -31,8 +45,42 @@ public class ProjectService {
                 .orElseThrow(() -> new IllegalArgumentException("Project not found"));
     }
     
-    public List<Project> findByUserId(Long userId) {
-        return projectRepository.findByUserId(userId);
+    public ProjectDTO findDtoById(Long id) {
+        return projectRepository.findDtoById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Project not found"));
+    }
+    
+    public List<ProjectDTO> findByUserId(Long userId) {
+        long[] projectIds = membershipIndex.projectIdsOf(userId);
+        if (projectIds.length == 0) {
+            return List.of();
+        }
+        return projectRepository.findDtosByIds(LongStream.of(projectIds).boxed().collect(Collectors.toList()));
+    }
+    
+    /**
+     * Keyset page over the user's projects, ordered by id. The page's ids
+     * come from the membership index; one grouped query then fetches the
+     * project rows with their task totals.
+     */
+    public CursorPage<ProjectSummary> findSummaryPage(Long userId, Long cursor, Integer limit) {
+        int pageSize = limit == null || limit <= 0 ? TaskService.DEFAULT_PAGE_SIZE : Math.min(limit, TaskService.MAX_PAGE_SIZE);
+        long[] projectIds = membershipIndex.projectIdsOf(userId);
+        
+        int from = 0;
+        if (cursor != null) {
+            int position = Arrays.binarySearch(projectIds, cursor);
+            from = position >= 0 ? position + 1 : -position - 1;
+        }
+        int to = Math.min(projectIds.length, from + pageSize);
+        if (from >= to) {
+            return new CursorPage<>(List.of(), null);
+        }
+        
+        List<Long> pageIds = LongStream.of(projectIds).skip(from).limit(to - from).boxed().collect(Collectors.toList());
+        List<ProjectSummary> summaries = projectRepository.findSummariesByIds(pageIds, OPEN_STATUSES);
+        Long nextCursor = to < projectIds.length ? projectIds[to - 1] : null;
+        return new CursorPage<>(summaries, nextCursor);
     }
     
     @Transactional
@@ -51,6 +99,8 @@ public class ProjectService {
         project.getMembers().add(owner);
         
         Project savedProject = projectRepository.save(project);
+        projectStatsService.initialize(savedProject.getId());
+        membershipIndex.invalidateUserAfterCommit(owner.getId());
         
         // Async cache update - might complete after transaction commits
         updateProjectStatsCache(savedProject.getId());
@@ -60,13 +110,16 @@ public class ProjectService {
     
     @Transactional
     @CacheEvict(value = {"projectCache", "projectStatsCache"}, key = "#projectId")
-    public Project updateProject(Long projectId, String name, String description, Long userId) {
+    public Project updateProject(Long projectId, String name, String description, Long userId, Long expectedVersion) {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new IllegalArgumentException("Project not found"));
+        long currentVersion = project.getVersion() != null ? project.getVersion() : 0L;
+        if (expectedVersion != null && expectedVersion != currentVersion) {
+            throw new PreconditionFailedException("Project " + projectId + " has changed (version " + currentVersion + ")");
+        }
         
         // Authorization check - ambiguous: owner OR member?
-        if (!project.getOwner().getId().equals(userId) && 
-            !project.getMembers().stream().anyMatch(m -> m.getId().equals(userId))) {
+        if (!membershipIndex.isOwnerOrMember(projectId, userId)) {
             throw new SecurityException("User not authorized to update project");
         }
         
@@ -89,16 +142,23 @@ public class ProjectService {
     @Transactional
     @CacheEvict(value = {"projectCache", "projectStatsCache"}, key = "#projectId")
     public void addMember(Long projectId, User member, Long userId) {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new IllegalArgumentException("Project not found"));
+        if (!projectRepository.existsById(projectId)) {
+            throw new IllegalArgumentException("Project not found");
+        }
         
         // Only owner can add members - but check is inconsistent
-        if (!project.getOwner().getId().equals(userId)) {
+        if (!membershipIndex.isOwner(projectId, userId)) {
             throw new SecurityException("Only project owner can add members");
         }
         
-        project.getMembers().add(member);
-        projectRepository.save(project);
+        // Join-table insert; the members collection (full User rows) is never loaded
+        if (membershipIndex.isOwnerOrMember(projectId, member.getId())
+                && projectRepository.findMemberIds(projectId).contains(member.getId())) {
+            return;
+        }
+        projectRepository.insertMember(projectId, member.getId());
+        membershipIndex.invalidateAfterCommit(projectId);
+        membershipIndex.invalidateUserAfterCommit(member.getId());
         
         // Cache invalidation
         updateProjectStatsCache(projectId);
@@ -110,7 +170,7 @@ public class ProjectService {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new IllegalArgumentException("Project not found"));
         
-        if (!project.getOwner().getId().equals(userId)) {
+        if (!membershipIndex.isOwner(projectId, userId)) {
             throw new SecurityException("Only owner can archive project");
         }
         
@@ -123,34 +183,17 @@ public class ProjectService {
     }
     
     /**
-     * Gets project statistics - uses cache that might be stale.
+     * Gets project statistics from the maintained task counters.
      */
-    @Cacheable(value = "projectStatsCache", key = "#projectId")
-    public String getProjectStats(Long projectId) {
-        Project project = findById(projectId);
-        
-        // This query might be slow - no pagination
-        List<com.taskmgmt.model.Task> tasks = taskService.findByProjectId(projectId);
-        
-        long todoCount = tasks.stream().filter(t -> t.getStatus() == com.taskmgmt.model.Task.TaskStatus.TODO).count();
-        long inProgressCount = tasks.stream().filter(t -> t.getStatus() == com.taskmgmt.model.Task.TaskStatus.IN_PROGRESS).count();
-        long completedCount = tasks.stream().filter(t -> t.getStatus() == com.taskmgmt.model.Task.TaskStatus.COMPLETED).count();
-        
-        String stats = String.format("Total: %d, TODO: %d, In Progress: %d, Completed: %d", 
-                tasks.size(), todoCount, inProgressCount, completedCount);
-        
-        // Update cached field in project - might not be consistent
-        project.setCachedStats(stats);
-        projectRepository.save(project);
-        
-        return stats;
+    public ProjectStatsDTO getProjectStats(Long projectId) {
+        return projectStatsService.getStats(projectId);
     }
     
     @Async
     public void updateProjectStatsCache(Long projectId) {
         // Async cache update - race condition possible
         try {
-            cacheService.evictCache("projectStatsCache", projectId.toString());
+            cacheService.evictCache("projectStatsCache", projectId);
         } catch (Exception e) {
             log.error("Failed to update cache for project: {}", projectId, e);
         }
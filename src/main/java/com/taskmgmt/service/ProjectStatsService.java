@@ -0,0 +1,110 @@
+package com.taskmgmt.service;
+
+import com.taskmgmt.dto.ProjectStatsDTO;
+import com.taskmgmt.model.ProjectTaskCount;
+import com.taskmgmt.model.Task.TaskPriority;
+import com.taskmgmt.model.Task.TaskStatus;
+import com.taskmgmt.repository.ProjectRepository;
+import com.taskmgmt.repository.ProjectTaskCountRepository;
+import com.taskmgmt.repository.ProjectTaskCountRepositoryCustom.CountDelta;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Per-project task counters.
+ * Task writes adjust the project_task_counts cells in their own transaction,
+ * so a stats read is one indexed lookup of at most
+ * |TaskStatus| x |TaskPriority| rows regardless of project size.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProjectStatsService {
+    private final ProjectTaskCountRepository projectTaskCountRepository;
+    private final ProjectRepository projectRepository;
+    
+    @PostConstruct
+    void backfill() {
+        int backfilled = projectTaskCountRepository.backfillMissing();
+        if (backfilled > 0) {
+            log.info("Backfilled task counters for {} projects", backfilled);
+        }
+    }
+    
+    @Cacheable(value = "projectStatsCache", key = "#projectId")
+    public ProjectStatsDTO getStats(Long projectId) {
+        List<ProjectTaskCount> counts = projectTaskCountRepository.findByProjectId(projectId);
+        if (counts.isEmpty() && !projectRepository.existsById(projectId)) {
+            throw new IllegalArgumentException("Project not found");
+        }
+        return ProjectStatsDTO.fromCounts(projectId, counts);
+    }
+    
+    /**
+     * Stats for many projects from one counter query; projects with no
+     * counter rows get all-zero stats.
+     */
+    public Map<Long, ProjectStatsDTO> computeStats(List<Long> projectIds) {
+        Map<Long, List<ProjectTaskCount>> countsByProject = projectTaskCountRepository.findByProjectIdIn(projectIds).stream()
+                .collect(Collectors.groupingBy(ProjectTaskCount::getProjectId));
+        
+        Map<Long, ProjectStatsDTO> stats = new HashMap<>(projectIds.size() * 2);
+        for (Long projectId : projectIds) {
+            stats.put(projectId, ProjectStatsDTO.fromCounts(projectId,
+                    countsByProject.getOrDefault(projectId, Collections.emptyList())));
+        }
+        return stats;
+    }
+    
+    @Transactional
+    public void initialize(Long projectId) {
+        projectTaskCountRepository.initialize(Collections.singletonList(projectId));
+    }
+    
+    @Transactional
+    public void taskCreated(Long projectId, TaskStatus status, TaskPriority priority) {
+        projectTaskCountRepository.adjust(List.of(new CountDelta(projectId, status, priority, 1)));
+    }
+    
+    @Transactional
+    public void taskChanged(Long projectId, TaskStatus fromStatus, TaskPriority fromPriority,
+                            TaskStatus toStatus, TaskPriority toPriority) {
+        if (fromStatus == toStatus && fromPriority == toPriority) {
+            return;
+        }
+        projectTaskCountRepository.adjust(List.of(
+                new CountDelta(projectId, fromStatus, fromPriority, -1),
+                new CountDelta(projectId, toStatus, toPriority, 1)));
+    }
+    
+    @Transactional
+    public void taskDeleted(Long projectId, TaskStatus status, TaskPriority priority) {
+        projectTaskCountRepository.adjust(List.of(new CountDelta(projectId, status, priority, -1)));
+    }
+    
+    /**
+     * Applies many deltas at once, coalesced so each cell is updated at most once.
+     */
+    @Transactional
+    public void adjust(List<CountDelta> deltas) {
+        Map<String, CountDelta> byCell = new LinkedHashMap<>();
+        for (CountDelta delta : deltas) {
+            byCell.merge(delta.getProjectId() + ":" + delta.getStatus() + ":" + delta.getPriority(), delta,
+                    (a, b) -> new CountDelta(a.getProjectId(), a.getStatus(), a.getPriority(), a.getDelta() + b.getDelta()));
+        }
+        byCell.values().removeIf(delta -> delta.getDelta() == 0);
+        projectTaskCountRepository.adjust(new ArrayList<>(byCell.values()));
+    }
+}
@@ -0,0 +1,121 @@
+package com.taskmgmt.service;
+
+import com.taskmgmt.dto.ProjectStatsDTO;
+import com.taskmgmt.event.TaskChangedEvent;
+import com.taskmgmt.model.Project.ProjectStatus;
+import com.taskmgmt.repository.ProjectRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pre-populates projectStatsCache for all active projects.
+ * Project ids are split into chunks, each chunk is one counter query on the
+ * warm-up pool, and the results are loaded into the cache together.
+ * Runs synchronously on ApplicationReadyEvent, which Spring Boot publishes
+ * before the readiness state switches to ACCEPTING_TRAFFIC.
+ * A project whose tasks changed after the counters were read is skipped, so
+ * a warm-up never reinstalls stats that an eviction already dropped.
+ */
+@Service
+@Slf4j
+public class ProjectStatsWarmer {
+    private final ProjectRepository projectRepository;
+    private final ProjectStatsService projectStatsService;
+    private final CacheService cacheService;
+    private final ThreadPoolTaskExecutor executor;
+    
+    // Each committed task change takes the next number; lastChange keeps the latest per project
+    private final AtomicLong changeSequence = new AtomicLong();
+    private final ConcurrentHashMap<Long, Long> lastChange = new ConcurrentHashMap<>();
+    
+    @Value("${stats.warmup.chunk-size:500}")
+    private int chunkSize;
+    
+    @Value("${stats.warmup.timeout-ms:60000}")
+    private long timeoutMillis;
+    
+    public ProjectStatsWarmer(ProjectRepository projectRepository,
+                              ProjectStatsService projectStatsService,
+                              CacheService cacheService,
+                              @Qualifier("statsWarmupExecutor") ThreadPoolTaskExecutor executor) {
+        this.projectRepository = projectRepository;
+        this.projectStatsService = projectStatsService;
+        this.cacheService = cacheService;
+        this.executor = executor;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpOnStartup() {
+        warmUp();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        // Comments do not touch the task counters
+        if (event.getType() == TaskChangedEvent.Type.COMMENTED || event.getType() == TaskChangedEvent.Type.COMMENT_EDITED) {
+            return;
+        }
+        lastChange.put(event.getProjectId(), changeSequence.incrementAndGet());
+        // Also evicted here, after commit, so stats read before the commit do not outlive it
+        cacheService.evictCache("projectStatsCache", event.getProjectId());
+    }
+    
+    /**
+     * Returns the number of projects loaded into the cache.
+     */
+    public int warmUp() {
+        long start = System.nanoTime();
+        long startSequence = changeSequence.get();
+        List<Long> projectIds = projectRepository.findIdsByStatus(ProjectStatus.ACTIVE);
+        
+        List<CompletableFuture<Map<Long, ProjectStatsDTO>>> chunks = new ArrayList<>();
+        for (int from = 0; from < projectIds.size(); from += chunkSize) {
+            List<Long> chunk = projectIds.subList(from, Math.min(from + chunkSize, projectIds.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> projectStatsService.computeStats(chunk), executor));
+        }
+        
+        Map<Long, ProjectStatsDTO> stats = new HashMap<>(projectIds.size() * 2);
+        try {
+            CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0])).get(timeoutMillis, TimeUnit.MILLISECONDS);
+            for (CompletableFuture<Map<Long, ProjectStatsDTO>> chunk : chunks) {
+                stats.putAll(chunk.join());
+            }
+        } catch (TimeoutException e) {
+            log.warn("Project stats warm-up timed out after {} ms, loading completed chunks only", timeoutMillis);
+            for (CompletableFuture<Map<Long, ProjectStatsDTO>> chunk : chunks) {
+                if (chunk.isDone() && !chunk.isCompletedExceptionally()) {
+                    stats.putAll(chunk.join());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } catch (ExecutionException e) {
+            log.error("Project stats warm-up failed", e.getCause());
+            return 0;
+        }
+        
+        cacheService.putAll("projectStatsCache", stats,
+                projectId -> lastChange.getOrDefault(projectId, 0L) <= startSequence);
+        log.info("Warmed project stats cache for {} of {} active projects in {} ms", stats.size(), projectIds.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return stats.size();
+    }
+}
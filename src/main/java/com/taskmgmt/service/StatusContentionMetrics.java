@@ -0,0 +1,47 @@
+package com.taskmgmt.service;
+
+import com.taskmgmt.dto.StatusContentionStats;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory per-project counters for status-update contention.
+ * LongAdder keeps hot projects from contending on the counters themselves.
+ */
+@Component
+public class StatusContentionMetrics {
+    private final ConcurrentHashMap<Long, Counters> byProject = new ConcurrentHashMap<>();
+    
+    public void recordRetry(Long projectId) {
+        counters(projectId).retries.increment();
+    }
+    
+    public void recordConflict(Long projectId) {
+        counters(projectId).conflicts.increment();
+    }
+    
+    public void recordCollapsed(Long projectId) {
+        counters(projectId).collapsed.increment();
+    }
+    
+    public StatusContentionStats snapshot(Long projectId) {
+        Counters counters = byProject.get(projectId);
+        if (counters == null) {
+            return new StatusContentionStats(projectId, 0, 0, 0);
+        }
+        return new StatusContentionStats(projectId, counters.retries.sum(), counters.conflicts.sum(),
+                counters.collapsed.sum());
+    }
+    
+    private Counters counters(Long projectId) {
+        return byProject.computeIfAbsent(projectId, id -> new Counters());
+    }
+    
+    private static final class Counters {
+        final LongAdder retries = new LongAdder();
+        final LongAdder conflicts = new LongAdder();
+        final LongAdder collapsed = new LongAdder();
+    }
+}
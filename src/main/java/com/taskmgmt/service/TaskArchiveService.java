@@ -0,0 +1,294 @@
+package com.taskmgmt.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmgmt.dto.ArchivedComment;
+import com.taskmgmt.dto.ArchivedTask;
+import com.taskmgmt.dto.ArchivedTaskSummary;
+import com.taskmgmt.dto.CursorPage;
+import com.taskmgmt.dto.TaskDTO;
+import com.taskmgmt.dto.TaskStatusEventDTO;
+import com.taskmgmt.event.TaskChangedEvent;
+import com.taskmgmt.model.ArchiveCheckpoint;
+import com.taskmgmt.model.ArchivedTaskEntry;
+import com.taskmgmt.model.Task.TaskPriority;
+import com.taskmgmt.model.Task.TaskStatus;
+import com.taskmgmt.model.TaskStatusEvent;
+import com.taskmgmt.repository.ArchiveCheckpointRepository;
+import com.taskmgmt.repository.ArchivedTaskEntryRepository;
+import com.taskmgmt.repository.CommentRepository;
+import com.taskmgmt.repository.ProjectTaskCountRepositoryCustom.CountDelta;
+import com.taskmgmt.repository.TaskAssignmentEventRepository;
+import com.taskmgmt.repository.TaskRepository;
+import com.taskmgmt.repository.TaskStatusEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Moves long-completed tasks out of the hot tables into compressed,
+ * append-only segment files (tasks-NNNNNN.jsonl.gz) on local disk.
+ *
+ * Each chunk of tasks, with its comments and status history, is written as
+ * one gzip member and forced to disk before its rows are deleted. The delete,
+ * the archived_tasks index rows and the checkpoint then commit together in a
+ * bounded transaction. A chunk that fails to commit leaves bytes past the
+ * checkpoint's committedOffset, which the next append truncates away, so a
+ * crash at any point neither loses nor duplicates tasks.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskArchiveService {
+    private static final String SEGMENT_NAME_FORMAT = "tasks-%06d.jsonl.gz";
+    
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final TaskStatusEventRepository taskStatusEventRepository;
+    private final TaskAssignmentEventRepository taskAssignmentEventRepository;
+    private final ArchivedTaskEntryRepository archivedTaskEntryRepository;
+    private final ArchiveCheckpointRepository archiveCheckpointRepository;
+    private final ProjectStatsService projectStatsService;
+    private final CacheService cacheService;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    private final AtomicBoolean running = new AtomicBoolean();
+    
+    @Value("${archive.directory:./data/archive}")
+    private String directory;
+    
+    @Value("${archive.retention-days:365}")
+    private int retentionDays;
+    
+    @Value("${archive.chunk-size:200}")
+    private int chunkSize;
+    
+    @Value("${archive.segment-max-bytes:67108864}")
+    private long segmentMaxBytes;
+    
+    @Value("${archive.chunk-timeout-seconds:30}")
+    private int chunkTimeoutSeconds;
+    
+    private TransactionTemplate chunkTransaction;
+    
+    @PostConstruct
+    void init() {
+        chunkTransaction = new TransactionTemplate(transactionManager);
+        chunkTransaction.setTimeout(chunkTimeoutSeconds);
+    }
+    
+    /**
+     * Archives tasks completed before the start of the day retentionDays ago.
+     * The cutoff is day-aligned so a rerun on the same day resumes from the checkpoint.
+     */
+    public int archiveExpired() {
+        return archiveCompletedBefore(LocalDate.now().minusDays(retentionDays).atStartOfDay());
+    }
+    
+    public int archiveCompletedBefore(LocalDateTime cutoff) {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Task archival already running, skipping");
+            return 0;
+        }
+        
+        int archived = 0;
+        try {
+            Path dir = Paths.get(directory);
+            Files.createDirectories(dir);
+            
+            ArchiveCheckpoint checkpoint = archiveCheckpointRepository.findById(ArchiveCheckpoint.SINGLETON_ID)
+                    .orElseGet(() -> ArchiveCheckpoint.builder().id(ArchiveCheckpoint.SINGLETON_ID).segmentNumber(1).build());
+            long afterId = cutoff.equals(checkpoint.getCutoff()) ? checkpoint.getLastTaskId() : 0L;
+            
+            while (true) {
+                List<TaskDTO> chunk = taskRepository.findArchivableChunk(TaskStatus.COMPLETED, cutoff, afterId,
+                        PageRequest.of(0, chunkSize));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                checkpoint = archiveChunk(dir, checkpoint, cutoff, chunk);
+                afterId = checkpoint.getLastTaskId();
+                archived += chunk.size();
+            }
+            
+            log.info("Archived {} tasks completed before {}", archived, cutoff);
+        } catch (Exception e) {
+            log.error("Task archival stopped after {} tasks, will resume on next run", archived, e);
+        } finally {
+            running.set(false);
+        }
+        return archived;
+    }
+    
+    private ArchiveCheckpoint archiveChunk(Path dir, ArchiveCheckpoint checkpoint, LocalDateTime cutoff,
+                                           List<TaskDTO> chunk) throws IOException {
+        Map<Long, ArchivedTask> records = new LinkedHashMap<>();
+        Map<Long, Long> versionByTaskId = new LinkedHashMap<>();
+        for (TaskDTO task : chunk) {
+            records.put(task.getId(), new ArchivedTask(task));
+            versionByTaskId.put(task.getId(), task.getVersion());
+        }
+        
+        List<Long> commentIds = new ArrayList<>();
+        for (ArchivedComment comment : commentRepository.findArchivedComments(records.keySet())) {
+            records.get(comment.getTaskId()).getComments().add(comment);
+            commentIds.add(comment.getId());
+        }
+        for (TaskStatusEvent event : taskStatusEventRepository.findByTaskIdInOrderByTaskIdAscSeqAsc(records.keySet())) {
+            records.get(event.getTaskId()).getHistory().add(new TaskStatusEventDTO(event.getSeq(),
+                    event.getFromStatus(), event.getToStatus(), event.getChangedAt(), event.getChangedBy()));
+        }
+        
+        // Roll over only at chunk boundaries so a chunk never spans segments
+        int segmentNumber = checkpoint.getSegmentNumber();
+        long offset = checkpoint.getCommittedOffset();
+        if (offset >= segmentMaxBytes) {
+            segmentNumber++;
+            offset = 0;
+        }
+        
+        byte[] member = compress(records.values());
+        appendDurably(dir.resolve(segmentName(segmentNumber)), offset, member);
+        
+        List<ArchivedTaskEntry> entries = new ArrayList<>(chunk.size());
+        List<CountDelta> countDeltas = new ArrayList<>(chunk.size());
+        Map<Long, List<Long>> taskIdsByProject = new HashMap<>();
+        for (TaskDTO task : chunk) {
+            entries.add(ArchivedTaskEntry.builder()
+                    .taskId(task.getId())
+                    .projectId(task.getProjectId())
+                    .title(task.getTitle())
+                    .completedAt(task.getCompletedAt())
+                    .segmentNumber(segmentNumber)
+                    .segmentOffset(offset)
+                    .build());
+            countDeltas.add(new CountDelta(task.getProjectId(), TaskStatus.COMPLETED,
+                    TaskPriority.valueOf(task.getPriority()), -1));
+            taskIdsByProject.computeIfAbsent(task.getProjectId(), id -> new ArrayList<>()).add(task.getId());
+        }
+        
+        ArchiveCheckpoint next = ArchiveCheckpoint.builder()
+                .id(ArchiveCheckpoint.SINGLETON_ID)
+                .cutoff(cutoff)
+                .lastTaskId(chunk.get(chunk.size() - 1).getId())
+                .segmentNumber(segmentNumber)
+                .committedOffset(offset + member.length)
+                .build();
+        
+        ArchiveCheckpoint committed = chunkTransaction.execute(status -> {
+            // By id, not by task: a comment added since the read blocks the task delete (FK) and rolls back the chunk
+            if (!commentIds.isEmpty()) {
+                commentRepository.deleteAllByIdInBatch(commentIds);
+            }
+            taskStatusEventRepository.deleteByTaskIds(records.keySet());
+            // Assignment history is feed-only and not carried into the archive
+            taskAssignmentEventRepository.deleteByTaskIds(records.keySet());
+            int deleted = taskRepository.deleteIfUnchanged(versionByTaskId);
+            if (deleted != chunk.size()) {
+                throw new IllegalStateException("Tasks changed while being archived, chunk after id "
+                        + checkpoint.getLastTaskId() + " rolled back");
+            }
+            archivedTaskEntryRepository.saveAll(entries);
+            projectStatsService.adjust(countDeltas);
+            taskIdsByProject.forEach((projectId, taskIds) -> eventPublisher.publishEvent(
+                    new TaskChangedEvent(TaskChangedEvent.Type.DELETED, projectId, taskIds, null)));
+            return archiveCheckpointRepository.save(next);
+        });
+        
+        for (Long projectId : taskIdsByProject.keySet()) {
+            cacheService.evictCache("projectCache", projectId);
+            cacheService.evictCache("projectStatsCache", projectId);
+        }
+        log.debug("Archived {} tasks into {} at offset {}", chunk.size(), segmentName(segmentNumber), offset);
+        return committed;
+    }
+    
+    public ArchivedTask findArchivedTask(Long taskId) {
+        ArchivedTaskEntry entry = archivedTaskEntryRepository.findByTaskId(taskId)
+                .orElseThrow(() -> new IllegalArgumentException("Archived task not found"));
+        
+        Path segment = Paths.get(directory).resolve(segmentName(entry.getSegmentNumber()));
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            channel.position(entry.getSegmentOffset());
+            BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Channels.newInputStream(channel)), StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                ArchivedTask record = objectMapper.readValue(line, ArchivedTask.class);
+                if (taskId.equals(record.getTask().getId())) {
+                    return record;
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read archive segment " + segment, e);
+        }
+        throw new IllegalStateException("Archived task " + taskId + " missing from " + segment);
+    }
+    
+    public CursorPage<ArchivedTaskSummary> findProjectPage(Long projectId, Long cursor, Integer limit) {
+        int pageSize = limit == null || limit <= 0 ? TaskService.DEFAULT_PAGE_SIZE : Math.min(limit, TaskService.MAX_PAGE_SIZE);
+        List<ArchivedTaskSummary> rows = archivedTaskEntryRepository.findProjectPage(projectId,
+                cursor != null ? cursor : 0L, PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, ArchivedTaskSummary::getTaskId);
+    }
+    
+    private byte[] compress(Iterable<ArchivedTask> records) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(bytes), StandardCharsets.UTF_8)) {
+            for (ArchivedTask record : records) {
+                writer.write(objectMapper.writeValueAsString(record));
+                writer.write('\n');
+            }
+        }
+        return bytes.toByteArray();
+    }
+    
+    private static void appendDurably(Path segment, long offset, byte[] member) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // Drops whatever an uncommitted chunk left behind
+            channel.truncate(offset);
+            ByteBuffer buffer = ByteBuffer.wrap(member);
+            long position = offset;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            channel.force(true);
+        }
+    }
+    
+    private static String segmentName(int segmentNumber) {
+        return String.format(SEGMENT_NAME_FORMAT, segmentNumber);
+    }
+}
@@ -0,0 +1,220 @@
+package com.taskmgmt.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmgmt.dto.TaskImportResult;
+import com.taskmgmt.dto.TaskImportRow;
+import com.taskmgmt.event.TaskChangedEvent;
+import com.taskmgmt.model.Project;
+import com.taskmgmt.model.Task;
+import com.taskmgmt.model.Task.TaskStatus;
+import com.taskmgmt.model.User;
+import com.taskmgmt.repository.ProjectTaskCountRepositoryCustom.CountDelta;
+import com.taskmgmt.security.ProjectMembershipIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk task import.
+ * The request body is read as a stream, one array element at a time, and
+ * valid rows are inserted in chunks - one transaction and one set of JDBC
+ * batches per chunk. Authorization is decided once per project.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskImportService {
+    private final ProjectMembershipIndex membershipIndex;
+    private final ProjectStatsService projectStatsService;
+    private final NotificationService notificationService;
+    private final DueDateTracker dueDateTracker;
+    private final CacheService cacheService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${tasks.import.chunk-size:500}")
+    private int chunkSize;
+    
+    public List<TaskImportResult> importTasks(InputStream body, User creator) throws IOException {
+        List<TaskImportResult> results = new ArrayList<>();
+        Map<Long, Boolean> projectAccess = new HashMap<>();
+        Map<Long, Integer> createdPerProject = new HashMap<>();
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of tasks");
+            }
+            
+            for (int index = 0; ; index++) {
+                // Each element is read whole as a tree, so a row that fails to map
+                // leaves the parser at the next element
+                JsonNode element;
+                try {
+                    JsonToken token = parser.nextToken();
+                    if (token == JsonToken.END_ARRAY) {
+                        break;
+                    }
+                    if (token == null) {
+                        results.add(TaskImportResult.failed(index, "Unexpected end of input"));
+                        break;
+                    }
+                    element = parser.readValueAsTree();
+                } catch (JsonParseException e) {
+                    // Invalid JSON syntax - nothing after this point can be read
+                    results.add(TaskImportResult.failed(index, "Malformed JSON: " + e.getOriginalMessage()));
+                    break;
+                }
+                
+                TaskImportRow row = null;
+                String error;
+                if (!element.isObject()) {
+                    error = "Expected a task object";
+                } else {
+                    try {
+                        row = objectMapper.treeToValue(element, TaskImportRow.class);
+                        error = validate(row, creator, projectAccess);
+                    } catch (JsonProcessingException e) {
+                        error = "Malformed task: " + e.getOriginalMessage();
+                    }
+                }
+                if (error != null) {
+                    results.add(TaskImportResult.failed(index, error));
+                } else {
+                    chunk.add(new PendingRow(index, row));
+                }
+                
+                if (chunk.size() >= chunkSize) {
+                    results.addAll(insertChunk(chunk, creator, createdPerProject));
+                    chunk.clear();
+                }
+            }
+        }
+        
+        if (!chunk.isEmpty()) {
+            results.addAll(insertChunk(chunk, creator, createdPerProject));
+        }
+        
+        createdPerProject.forEach((projectId, count) -> {
+            cacheService.evictCache("projectCache", projectId);
+            cacheService.evictCache("projectStatsCache", projectId);
+            try {
+                notificationService.notifyTasksImported(projectId, count, creator);
+            } catch (Exception e) {
+                log.error("Failed to send import notification for project: {}", projectId, e);
+            }
+        });
+        
+        results.sort(Comparator.comparingInt(TaskImportResult::getIndex));
+        log.info("Imported {} of {} tasks for user: {}",
+                createdPerProject.values().stream().mapToInt(Integer::intValue).sum(), results.size(),
+                creator.getUsername());
+        return results;
+    }
+    
+    private String validate(TaskImportRow row, User creator, Map<Long, Boolean> projectAccess) {
+        if (row.getProjectId() == null) {
+            return "projectId is required";
+        }
+        if (row.getTitle() == null || row.getTitle().isBlank()) {
+            return "title is required";
+        }
+        if (row.getPriority() != null) {
+            try {
+                Task.TaskPriority.valueOf(row.getPriority());
+            } catch (IllegalArgumentException e) {
+                return "Unknown priority: " + row.getPriority();
+            }
+        }
+        
+        boolean allowed = projectAccess.computeIfAbsent(row.getProjectId(),
+                projectId -> membershipIndex.isOwnerOrMember(projectId, creator.getId()));
+        return allowed ? null : "User not authorized to create tasks in project " + row.getProjectId();
+    }
+    
+    private List<TaskImportResult> insertChunk(List<PendingRow> chunk, User creator, Map<Long, Integer> createdPerProject) {
+        try {
+            List<TaskImportResult> chunkResults = transactionTemplate.execute(status -> {
+                List<TaskImportResult> created = new ArrayList<>(chunk.size());
+                List<CountDelta> countDeltas = new ArrayList<>(chunk.size());
+                Map<Long, List<Long>> createdIds = new HashMap<>();
+                LocalDateTime now = LocalDateTime.now();
+                for (PendingRow pending : chunk) {
+                    TaskImportRow row = pending.row;
+                    Task task = Task.builder()
+                            .title(row.getTitle())
+                            .description(row.getDescription())
+                            .priority(row.getPriority() != null
+                                    ? Task.TaskPriority.valueOf(row.getPriority()) : Task.TaskPriority.MEDIUM)
+                            .status(TaskStatus.TODO)
+                            .dueDate(row.getDueDate())
+                            .project(entityManager.getReference(Project.class, row.getProjectId()))
+                            .statusEventSeq(1L)
+                            .build();
+                    
+                    // Sequence ids are assigned here, inserts are deferred to the batched flush
+                    entityManager.persist(task);
+                    entityManager.persist(TaskService.statusEvent(task.getId(), row.getProjectId(), 1L,
+                            null, TaskStatus.TODO, now, creator));
+                    created.add(TaskImportResult.created(pending.index, task.getId()));
+                    countDeltas.add(new CountDelta(row.getProjectId(), TaskStatus.TODO, task.getPriority(), 1));
+                    dueDateTracker.track(task.getId(), row.getDueDate(), TaskStatus.TODO);
+                    createdIds.computeIfAbsent(row.getProjectId(), id -> new ArrayList<>()).add(task.getId());
+                }
+                projectStatsService.adjust(countDeltas);
+                // Delivered once this chunk commits
+                createdIds.forEach((projectId, taskIds) -> eventPublisher.publishEvent(
+                        new TaskChangedEvent(TaskChangedEvent.Type.CREATED, projectId, taskIds, creator.getId())));
+                entityManager.flush();
+                entityManager.clear();
+                return created;
+            });
+            
+            for (PendingRow pending : chunk) {
+                createdPerProject.merge(pending.row.getProjectId(), 1, Integer::sum);
+            }
+            return chunkResults;
+        } catch (Exception e) {
+            // The cause stays in the log: driver messages carry SQL and constraint names
+            log.error("Failed to import chunk of {} tasks", chunk.size(), e);
+            List<TaskImportResult> failed = new ArrayList<>(chunk.size());
+            for (PendingRow pending : chunk) {
+                failed.add(TaskImportResult.failed(pending.index, "Insert failed; no row in its batch was created"));
+            }
+            return failed;
+        }
+    }
+    
+    private static class PendingRow {
+        final int index;
+        final TaskImportRow row;
+        
+        PendingRow(int index, TaskImportRow row) {
+            this.index = index;
+            this.row = row;
+        }
+    }
+}
@@ -1,54 +1,157 @@
 package com.taskmgmt.service;
 
+import com.taskmgmt.dto.BulkStatusResult;
+import com.taskmgmt.dto.BulkStatusResult.Outcome;
+import com.taskmgmt.dto.CursorPage;
+import com.taskmgmt.dto.TaskDTO;
+import com.taskmgmt.dto.TaskStatusEventDTO;
+import com.taskmgmt.event.TaskChangedEvent;
+import com.taskmgmt.exception.PreconditionFailedException;
 import com.taskmgmt.model.Project;
 import com.taskmgmt.model.Task;
 import com.taskmgmt.model.Task.TaskStatus;
+import com.taskmgmt.model.TaskAssignmentEvent;
+import com.taskmgmt.model.TaskStatusEvent;
 import com.taskmgmt.model.User;
+import com.taskmgmt.repository.ProjectTaskCountRepositoryCustom.CountDelta;
 import com.taskmgmt.repository.TaskRepository;
+import com.taskmgmt.repository.TaskRepositoryCustom.StatusRow;
+import com.taskmgmt.repository.TaskAssignmentEventRepository;
+import com.taskmgmt.repository.TaskStatusEventRepository;
+import com.taskmgmt.security.ProjectMembershipIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TaskService {
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+    
     private final TaskRepository taskRepository;
+    private final TaskStatusEventRepository taskStatusEventRepository;
+    private final TaskAssignmentEventRepository taskAssignmentEventRepository;
     private final ProjectService projectService;
+    private final ProjectStatsService projectStatsService;
     private final NotificationService notificationService;
+    private final CacheService cacheService;
+    private final DueDateTracker dueDateTracker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final StatusContentionMetrics statusContentionMetrics;
+    private final ProjectMembershipIndex membershipIndex;
+    
+    @Value("${tasks.bulk-status.max-size:500}")
+    private int bulkStatusMaxSize;
+    
+    @Value("${tasks.status.retry.max-attempts:4}")
+    private int statusRetryMaxAttempts;
+    
+    @Value("${tasks.status.retry.base-backoff-ms:10}")
+    private long statusRetryBaseBackoffMillis;
+    
+    @Value("${tasks.status.retry.max-backoff-ms:200}")
+    private long statusRetryMaxBackoffMillis;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
     
     public Task findById(Long id) {
         return taskRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Task not found"));
     }
     
-    public List<Task> findByProjectId(Long projectId) {
-        // Potential N+1 problem: comments are lazy-loaded
-        return taskRepository.findByProjectId(projectId);
+    public TaskDTO findDtoById(Long id) {
+        return taskRepository.findDtoById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Task not found"));
+    }
+    
+    public CursorPage<TaskDTO> findProjectPage(Long projectId, TaskStatus status, Task.TaskPriority priority,
+                                           Long cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        List<TaskDTO> rows = taskRepository.findProjectPage(projectId, status, priority, afterId(cursor), pageSize + 1);
+        return CursorPage.of(rows, pageSize, TaskDTO::getId);
     }
     
-    public List<Task> findByAssignee(User assignee) {
-        return taskRepository.findByAssignee(assignee);
+    public CursorPage<TaskDTO> findAssigneePage(Long userId, Long cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        List<TaskDTO> rows = taskRepository.findAssigneePage(userId, afterId(cursor), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, TaskDTO::getId);
+    }
+    
+    public CursorPage<TaskDTO> findOverduePage(Long userId, Long cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        List<TaskDTO> rows = taskRepository.findOverduePage(userId, LocalDateTime.now(), afterId(cursor),
+                PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, TaskDTO::getId);
+    }
+    
+    public CursorPage<TaskStatusEventDTO> findStatusHistory(Long taskId, Long cursor, Integer limit) {
+        if (!taskRepository.existsById(taskId)) {
+            throw new IllegalArgumentException("Task not found");
+        }
+        int pageSize = pageSize(limit);
+        List<TaskStatusEventDTO> rows = taskStatusEventRepository.findHistoryPage(taskId, afterId(cursor),
+                PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, TaskStatusEventDTO::getSeq);
+    }
+    
+    /**
+     * If-Match check against the loaded row. A writer that commits between
+     * this check and our flush is still caught by the @Version update.
+     */
+    private static void checkExpectedVersion(Task task, Long expectedVersion) {
+        long currentVersion = task.getVersion() != null ? task.getVersion() : 0L;
+        if (expectedVersion != null && expectedVersion != currentVersion) {
+            throw new PreconditionFailedException("Task " + task.getId() + " has changed (version " + currentVersion + ")");
+        }
+    }
+    
+    private static int pageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+    
+    private static long afterId(Long cursor) {
+        return cursor != null ? cursor : 0L;
     }
     
     @Transactional
     @CacheEvict(value = {"projectCache", "projectStatsCache"}, key = "#projectId")
     public Task createTask(Long projectId, String title, String description, 
-                          Task.TaskPriority priority, User creator) {
+                          Task.TaskPriority priority, LocalDateTime dueDate, User creator) {
         log.info("Creating task: {} in project: {}", title, projectId);
         
         Project project = projectService.findById(projectId);
         
         // Authorization: creator must be owner or member
-        boolean isAuthorized = project.getOwner().getId().equals(creator.getId()) ||
-                project.getMembers().stream().anyMatch(m -> m.getId().equals(creator.getId()));
-        
-        if (!isAuthorized) {
+        if (!membershipIndex.isOwnerOrMember(projectId, creator.getId())) {
             throw new SecurityException("User not authorized to create tasks in this project");
         }
         
@@ -57,18 +160,18 @@ public class TaskService {
                 .description(description)
                 .priority(priority != null ? priority : Task.TaskPriority.MEDIUM)
                 .status(TaskStatus.TODO)
+                .dueDate(dueDate)
                 .project(project)
+                .statusEventSeq(1L)
                 .build();
         
-        // Add to status history
-        Task.StatusHistoryEntry entry = new Task.StatusHistoryEntry(
-                TaskStatus.TODO, 
-                LocalDateTime.now(), 
-                creator.getUsername()
-        );
-        task.getStatusHistory().add(entry);
-        
         Task savedTask = taskRepository.save(task);
+        taskStatusEventRepository.save(statusEvent(savedTask.getId(), projectId, 1L,
+                null, TaskStatus.TODO, LocalDateTime.now(), creator));
+        projectStatsService.taskCreated(projectId, savedTask.getStatus(), savedTask.getPriority());
+        dueDateTracker.track(savedTask.getId(), dueDate, savedTask.getStatus());
+        eventPublisher.publishEvent(TaskChangedEvent.of(TaskChangedEvent.Type.CREATED, projectId,
+                savedTask.getId(), creator.getId()));
         
         // Side effect: Notify project members
         try {
@@ -83,9 +186,10 @@ public class TaskService {
     @Transactional
     @CacheEvict(value = {"projectCache", "projectStatsCache"}, allEntries = true)
     public Task updateTask(Long taskId, String title, String description, 
-                          Task.TaskPriority priority, User updater) {
+                          Task.TaskPriority priority, LocalDateTime dueDate, User updater, Long expectedVersion) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new IllegalArgumentException("Task not found"));
+        checkExpectedVersion(task, expectedVersion);
         
         // Authorization check - ambiguous rules
         boolean isAuthorized = checkTaskUpdatePermission(task, updater);
@@ -99,12 +203,43 @@ public class TaskService {
         if (description != null) {
             task.setDescription(description);
         }
-        if (priority != null) {
+        if (priority != null && priority != task.getPriority()) {
+            projectStatsService.taskChanged(task.getProject().getId(), task.getStatus(), task.getPriority(),
+                    task.getStatus(), priority);
             task.setPriority(priority);
         }
+        if (dueDate != null && !dueDate.equals(task.getDueDate())) {
+            task.setDueDate(dueDate);
+            dueDateTracker.track(taskId, dueDate, task.getStatus());
+        }
         
         task.setUpdatedAt(LocalDateTime.now());
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.of(TaskChangedEvent.Type.UPDATED, task.getProject().getId(),
+                taskId, updater.getId()));
+        return savedTask;
+    }
+    
+    @Transactional
+    @CacheEvict(value = {"projectCache", "projectStatsCache"}, allEntries = true)
+    public void deleteTask(Long taskId, User deleter) {
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new IllegalArgumentException("Task not found"));
+        
+        if (!checkTaskUpdatePermission(task, deleter)) {
+            throw new SecurityException("User not authorized to delete task");
+        }
+        
+        Long projectId = task.getProject().getId();
+        taskStatusEventRepository.deleteByTaskId(taskId);
+        taskAssignmentEventRepository.deleteByTaskId(taskId);
+        taskRepository.delete(task);
+        projectStatsService.taskDeleted(projectId, task.getStatus(), task.getPriority());
+        dueDateTracker.untrack(taskId);
+        eventPublisher.publishEvent(TaskChangedEvent.of(TaskChangedEvent.Type.DELETED, projectId,
+                taskId, deleter.getId()));
+        
+        log.info("Task {} deleted by {}", taskId, deleter.getUsername());
     }
     
     @Transactional
@@ -115,7 +250,7 @@ public class TaskService {
         
         // Authorization: assigner must be project owner or manager
         Project project = task.getProject();
-        boolean canAssign = project.getOwner().getId().equals(assigner.getId()) ||
+        boolean canAssign = membershipIndex.isOwner(project.getId(), assigner.getId()) ||
                 assigner.getRole() == User.UserRole.MANAGER ||
                 assigner.getRole() == User.UserRole.ADMIN;
         
@@ -123,27 +258,79 @@ public class TaskService {
             throw new SecurityException("User not authorized to assign tasks");
         }
         
+        Long previousAssigneeId = task.getAssignee() != null ? task.getAssignee().getId() : null;
+        LocalDateTime now = LocalDateTime.now();
         task.setAssignee(assignee);
-        task.setUpdatedAt(LocalDateTime.now());
+        task.setUpdatedAt(now);
         Task savedTask = taskRepository.save(task);
+        taskAssignmentEventRepository.save(TaskAssignmentEvent.builder()
+                .taskId(taskId)
+                .projectId(project.getId())
+                .previousAssigneeId(previousAssigneeId)
+                .assigneeId(assignee != null ? assignee.getId() : null)
+                .assignedAt(now)
+                .assignedBy(assigner.getUsername())
+                .build());
+        eventPublisher.publishEvent(TaskChangedEvent.of(TaskChangedEvent.Type.ASSIGNED, project.getId(),
+                taskId, assigner.getId()));
         
-        // Side effect: Notify assignee
-        try {
-            notificationService.notifyTaskAssigned(savedTask, assignee);
-        } catch (Exception e) {
-            log.error("Failed to send assignment notification", e);
+        // Side effect: Notify assignee (null assignee = unassign)
+        if (assignee != null) {
+            try {
+                notificationService.notifyTaskAssigned(savedTask, assignee);
+            } catch (Exception e) {
+                log.error("Failed to send assignment notification", e);
+            }
         }
         
         return savedTask;
     }
     
-    @Transactional
+    /**
+     * Moves one task to a new status.
+     * Each attempt is its own transaction against freshly read state. Losing
+     * an optimistic-lock race to a concurrent writer retries with jittered
+     * exponential backoff, up to tasks.status.retry.max-attempts; after that
+     * the conflict surfaces as 409. Asking for the status the task already
+     * has is a no-op: no history entry, no version bump.
+     */
     @CacheEvict(value = {"projectCache", "projectStatsCache"}, allEntries = true)
-    public Task updateTaskStatus(Long taskId, TaskStatus newStatus, User updater) {
+    public Task updateTaskStatus(Long taskId, TaskStatus newStatus, User updater, Long expectedVersion) {
+        AtomicLong projectId = new AtomicLong();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                StatusTransition transition = transactionTemplate.execute(status ->
+                        applyStatusTransition(taskId, newStatus, updater, expectedVersion, projectId));
+                if (transition.oldStatus == newStatus) {
+                    statusContentionMetrics.recordCollapsed(projectId.get());
+                } else {
+                    try {
+                        notificationService.notifyTaskStatusChanged(transition.task, transition.oldStatus, newStatus);
+                    } catch (Exception e) {
+                        log.error("Failed to send status change notification", e);
+                    }
+                }
+                return transition.task;
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= statusRetryMaxAttempts) {
+                    statusContentionMetrics.recordConflict(projectId.get());
+                    log.warn("Status update of task {} still conflicting after {} attempts", taskId, attempt);
+                    throw e;
+                }
+                statusContentionMetrics.recordRetry(projectId.get());
+                // The request-scoped persistence context still holds the stale row
+                entityManager.clear();
+                backOff(attempt);
+            }
+        }
+    }
+    
+    private StatusTransition applyStatusTransition(Long taskId, TaskStatus newStatus, User updater,
+                                                   Long expectedVersion, AtomicLong projectId) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new IllegalArgumentException("Task not found"));
+        projectId.set(task.getProject().getId());
         
-        // Optimistic locking check - version field might not be used everywhere
         TaskStatus oldStatus = task.getStatus();
         
         boolean isAuthorized = checkTaskUpdatePermission(task, updater);
@@ -151,43 +338,172 @@ public class TaskService {
             throw new SecurityException("User not authorized to change task status");
         }
         
-        task.setStatus(newStatus);
-        task.setUpdatedAt(LocalDateTime.now());
+        if (oldStatus == newStatus) {
+            // A repeat of a transition that already happened, e.g. a client retry
+            return new StatusTransition(task, oldStatus);
+        }
+        checkExpectedVersion(task, expectedVersion);
         
-        // Add to status history - might have duplicates if concurrent updates
-        Task.StatusHistoryEntry entry = new Task.StatusHistoryEntry(
-                newStatus, 
-                LocalDateTime.now(), 
-                updater.getUsername()
-        );
-        task.getStatusHistory().add(entry);
+        LocalDateTime now = LocalDateTime.now();
+        task.setStatus(newStatus);
+        task.setUpdatedAt(now);
         
+        // Every move into COMPLETED restarts the clock, as in the bulk path; archiving counts from it
         if (newStatus == TaskStatus.COMPLETED) {
-            task.setCompletedAt(LocalDateTime.now());
+            task.setCompletedAt(now);
         }
         
-        Task savedTask = taskRepository.save(task);
+        // Flushing the version-checked UPDATE first means a concurrent writer
+        // fails here, before it can append a duplicate history entry
+        long seq = task.getStatusEventSeq() + 1;
+        task.setStatusEventSeq(seq);
+        Task savedTask = taskRepository.saveAndFlush(task);
+        taskStatusEventRepository.save(statusEvent(taskId, task.getProject().getId(), seq,
+                oldStatus, newStatus, now, updater));
+        projectStatsService.taskChanged(task.getProject().getId(), oldStatus, task.getPriority(),
+                newStatus, task.getPriority());
+        dueDateTracker.track(taskId, task.getDueDate(), newStatus);
+        eventPublisher.publishEvent(TaskChangedEvent.of(TaskChangedEvent.Type.STATUS_CHANGED, task.getProject().getId(),
+                taskId, updater.getId()));
+        return new StatusTransition(savedTask, oldStatus);
+    }
+    
+    /**
+     * Full-jitter exponential backoff: a random sleep up to base * 2^(attempt-1), capped.
+     */
+    private void backOff(int attempt) {
+        long ceiling = Math.min(statusRetryMaxBackoffMillis, statusRetryBaseBackoffMillis << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying status update", e);
+        }
+    }
+    
+    /**
+     * Moves many tasks to one status in a single transaction.
+     * expectedVersions maps task id to the version the client last saw (null
+     * value = the version read here). Permissions are resolved per project in
+     * two queries, the transition is one JDBC batch of version-checked UPDATEs,
+     * and status events are appended in one more batch. A task that changed
+     * meanwhile is reported as CONFLICT rather than failing the whole request.
+     */
+    @Transactional
+    public List<BulkStatusResult> bulkUpdateStatus(Map<Long, Long> expectedVersions, TaskStatus newStatus, User updater) {
+        if (expectedVersions.size() > bulkStatusMaxSize) {
+            throw new IllegalArgumentException("At most " + bulkStatusMaxSize + " tasks per bulk status request");
+        }
+        
+        Map<Long, StatusRow> rowsById = taskRepository.findStatusRows(expectedVersions.keySet()).stream()
+                .collect(Collectors.toMap(StatusRow::getId, Function.identity()));
+        Set<Long> projectIds = rowsById.values().stream()
+                .map(StatusRow::getProjectId)
+                .collect(Collectors.toSet());
+        
+        boolean isAdmin = updater.getRole() == User.UserRole.ADMIN;
+        Set<Long> ownedProjects = new HashSet<>();
+        Set<Long> managedProjects = new HashSet<>();
+        if (!isAdmin) {
+            for (Long projectId : projectIds) {
+                if (membershipIndex.isOwner(projectId, updater.getId())) {
+                    ownedProjects.add(projectId);
+                } else if (updater.getRole() == User.UserRole.MANAGER
+                        && membershipIndex.isOwnerOrMember(projectId, updater.getId())) {
+                    managedProjects.add(projectId);
+                }
+            }
+        }
+        
+        Map<Long, Outcome> outcomes = new LinkedHashMap<>();
+        List<StatusRow> toUpdate = new ArrayList<>();
+        expectedVersions.forEach((taskId, expectedVersion) -> {
+            StatusRow row = rowsById.get(taskId);
+            if (row == null) {
+                outcomes.put(taskId, Outcome.NOT_FOUND);
+            } else if (!isAdmin && !ownedProjects.contains(row.getProjectId())
+                    && !updater.getId().equals(row.getAssigneeId())
+                    && !managedProjects.contains(row.getProjectId())) {
+                // Same rules as checkTaskUpdatePermission
+                outcomes.put(taskId, Outcome.FORBIDDEN);
+            } else if (row.getStatus() == newStatus) {
+                // Already there - a repeat collapses even if the client's version is stale
+                outcomes.put(taskId, Outcome.UNCHANGED);
+                statusContentionMetrics.recordCollapsed(row.getProjectId());
+            } else if (expectedVersion != null && expectedVersion != row.getVersion()) {
+                outcomes.put(taskId, Outcome.CONFLICT);
+                statusContentionMetrics.recordConflict(row.getProjectId());
+            } else {
+                outcomes.put(taskId, Outcome.UPDATED);
+                toUpdate.add(row);
+            }
+        });
+        
+        LocalDateTime now = LocalDateTime.now();
+        int[] counts = taskRepository.batchUpdateStatus(toUpdate, newStatus, now);
+        List<TaskStatusEvent> events = new ArrayList<>(toUpdate.size());
+        List<CountDelta> countDeltas = new ArrayList<>();
+        Map<Long, List<Long>> updatedPerProject = new HashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            StatusRow row = toUpdate.get(i);
+            if (counts[i] == 0) {
+                // Version moved between our read and the UPDATE
+                outcomes.put(row.getId(), Outcome.CONFLICT);
+                statusContentionMetrics.recordConflict(row.getProjectId());
+            } else {
+                events.add(statusEvent(row.getId(), row.getProjectId(), row.getStatusEventSeq() + 1,
+                        row.getStatus(), newStatus, now, updater));
+                countDeltas.add(new CountDelta(row.getProjectId(), row.getStatus(), row.getPriority(), -1));
+                countDeltas.add(new CountDelta(row.getProjectId(), newStatus, row.getPriority(), 1));
+                dueDateTracker.track(row.getId(), row.getDueDate(), newStatus);
+                updatedPerProject.computeIfAbsent(row.getProjectId(), id -> new ArrayList<>()).add(row.getId());
+            }
+        }
+        // Sequence ids + hibernate.jdbc.batch_size turn this into batched INSERTs
+        taskStatusEventRepository.saveAll(events);
+        projectStatsService.adjust(countDeltas);
         
-        // Side effect: Notify on status change
-        if (oldStatus != newStatus) {
+        updatedPerProject.forEach((projectId, taskIds) -> {
+            cacheService.evictCache("projectCache", projectId);
+            cacheService.evictCache("projectStatsCache", projectId);
+            eventPublisher.publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.STATUS_CHANGED, projectId,
+                    taskIds, updater.getId()));
             try {
-                notificationService.notifyTaskStatusChanged(savedTask, oldStatus, newStatus);
+                notificationService.notifyTasksStatusChanged(projectId, taskIds.size(), newStatus, updater);
             } catch (Exception e) {
-                log.error("Failed to send status change notification", e);
+                log.error("Failed to send bulk status change notification for project: {}", projectId, e);
             }
-        }
+        });
         
-        return savedTask;
+        log.info("Bulk status change to {} by {}: {} of {} tasks updated",
+                newStatus, updater.getUsername(), events.size(), expectedVersions.size());
+        
+        List<BulkStatusResult> results = new ArrayList<>(outcomes.size());
+        outcomes.forEach((taskId, outcome) -> results.add(new BulkStatusResult(taskId, outcome)));
+        return results;
+    }
+    
+    static TaskStatusEvent statusEvent(Long taskId, Long projectId, long seq, TaskStatus from, TaskStatus to,
+                                       LocalDateTime changedAt, User changedBy) {
+        return TaskStatusEvent.builder()
+                .taskId(taskId)
+                .projectId(projectId)
+                .seq(seq)
+                .fromStatus(from)
+                .toStatus(to)
+                .changedAt(changedAt)
+                .changedBy(changedBy.getUsername())
+                .build();
     }
     
     /**
      * Authorization logic - complex and potentially ambiguous
      */
     private boolean checkTaskUpdatePermission(Task task, User user) {
-        Project project = task.getProject();
+        Long projectId = task.getProject().getId();
         
         // Owner can always update
-        if (project.getOwner().getId().equals(user.getId())) {
+        if (membershipIndex.isOwner(projectId, user.getId())) {
             return true;
         }
         
@@ -202,16 +518,21 @@ public class TaskService {
         }
         
         // Managers in the project can update
-        if (user.getRole() == User.UserRole.MANAGER && 
-            project.getMembers().stream().anyMatch(m -> m.getId().equals(user.getId()))) {
+        if (user.getRole() == User.UserRole.MANAGER && membershipIndex.isOwnerOrMember(projectId, user.getId())) {
             return true;
         }
         
         return false;
     }
     
-    public List<Task> findOverdueTasksForUser(Long userId) {
-        return taskRepository.findOverdueTasksForUser(userId, LocalDateTime.now());
+    private static final class StatusTransition {
+        final Task task;
+        final TaskStatus oldStatus;
+        
+        StatusTransition(Task task, TaskStatus oldStatus) {
+            this.task = task;
+            this.oldStatus = oldStatus;
+        }
     }
 }
 
@@ -0,0 +1,99 @@
+package com.taskmgmt.service;
+
+import com.taskmgmt.model.RevokedToken;
+import com.taskmgmt.repository.RevokedTokenRepository;
+import com.taskmgmt.service.JwtTokenService.TokenClaims;
+import com.taskmgmt.util.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Tracks JWTs revoked before expiry (logout).
+ * The revoked_tokens table is the source of truth; an in-memory Bloom filter
+ * in front of it answers the common "not revoked" case without a query.
+ * Expired rows are pruned on a schedule and the filter is rebuilt from what
+ * remains, which also picks up revocations made by other instances.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService {
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final JwtTokenService jwtTokenService;
+    
+    @Value("${auth.revocation.bloom.expected-insertions:10000}")
+    private long expectedInsertions;
+    
+    @Value("${auth.revocation.bloom.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+    
+    private volatile BloomFilter filter;
+    
+    @PostConstruct
+    void init() {
+        rebuildFilter();
+    }
+    
+    public boolean isRevoked(String tokenDigest) {
+        if (!filter.mightContain(tokenDigest)) {
+            return false;
+        }
+        // Possible false positive - confirm against the table
+        return revokedTokenRepository.existsByTokenDigest(tokenDigest);
+    }
+    
+    /**
+     * Idempotent, including when logouts with the same token race.
+     */
+    public void revoke(TokenClaims claims) {
+        String digest = claims.getTokenDigest();
+        if (!revokedTokenRepository.existsByTokenDigest(digest)) {
+            RevokedToken revoked = RevokedToken.builder()
+                    .tokenDigest(digest)
+                    .userId(claims.getUserId())
+                    .expiresAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(claims.getExpiresAt()), ZoneId.systemDefault()))
+                    .build();
+            try {
+                revokedTokenRepository.save(revoked);
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent logout with the same token inserted it first (uk_revoked_tokens_digest)
+                log.debug("Token already revoked for user: {}", claims.getUsername());
+            }
+        }
+        
+        synchronized (this) {
+            filter.put(digest);
+        }
+        jwtTokenService.evict(digest);
+        log.info("Revoked token for user: {}", claims.getUsername());
+    }
+    
+    /**
+     * Deletes rows for tokens that have expired anyway and rebuilds the filter.
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.prune-interval-ms:900000}",
+            initialDelayString = "${auth.revocation.prune-interval-ms:900000}")
+    public void pruneExpired() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        rebuildFilter();
+        log.debug("Pruned {} expired revoked tokens", deleted);
+    }
+    
+    private synchronized void rebuildFilter() {
+        // Held across load and swap so a concurrent revoke lands in the new filter
+        List<String> digests = revokedTokenRepository.findUnexpiredDigests(LocalDateTime.now());
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, digests.size() * 2L), falsePositiveRate);
+        digests.forEach(rebuilt::put);
+        filter = rebuilt;
+    }
+}
@@ -1,7 +1,9 @@
 package com.taskmgmt.service;
 
+import com.taskmgmt.dto.UserDTO;
 import com.taskmgmt.model.User;
 import com.taskmgmt.repository.UserRepository;
+import com.taskmgmt.security.SecurityEpochRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
@@ -19,6 +21,8 @@ import java.util.Optional;
 public class UserService {
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final SecurityEpochRegistry securityEpochRegistry;
+    private final PasswordHashingService passwordHashingService;
     
     @Cacheable(value = "userCache", key = "#id")
     public Optional<User> findById(Long id) {
@@ -30,12 +34,12 @@ public class UserService {
         return userRepository.findByUsername(username);
     }
     
-    public List<User> findAllActiveUsers() {
-        return userRepository.findByActiveTrue();
+    public List<UserDTO> findAllActiveUsers() {
+        return userRepository.findActiveUserDtos();
     }
     
     @Transactional
-    @CacheEvict(value = "userCache", key = "#user.id")
+    @CacheEvict(value = "userCache", key = "#result.id")
     public User createUser(String username, String email, String password, String fullName, User.UserRole role) {
         log.info("Creating new user: {}", username);
         
@@ -49,7 +53,7 @@ public class UserService {
         User user = User.builder()
                 .username(username)
                 .email(email)
-                .passwordHash(hashPassword(password))
+                .passwordHash(passwordHashingService.hash(password))
                 .fullName(fullName)
                 .role(role)
                 .active(true)
@@ -102,7 +106,11 @@ public class UserService {
         // Clear legacy session token
         user.setSessionToken(null);
         
+        // Invalidate every JWT issued so far
+        bumpSecurityEpoch(user);
+        
         userRepository.save(user);
+        securityEpochRegistry.advanceAfterCommit(user.getId(), user.getSecurityEpoch());
         
         // Side effect: Notify user
         try {
@@ -112,9 +120,31 @@ public class UserService {
         }
     }
     
-    private String hashPassword(String password) {
-        // TODO: Replace with BCrypt
-        return String.valueOf(password.hashCode());
+    @Transactional
+    @CacheEvict(value = "userCache", key = "#userId")
+    public User changeRole(Long userId, User.UserRole role) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        
+        if (user.getRole() == role) {
+            return user;
+        }
+        
+        log.info("Changing role of user {} from {} to {}", user.getUsername(), user.getRole(), role);
+        user.setRole(role);
+        user.setUpdatedAt(LocalDateTime.now());
+        
+        // Tokens embed the role, so the old ones must stop working
+        bumpSecurityEpoch(user);
+        
+        User savedUser = userRepository.save(user);
+        securityEpochRegistry.advanceAfterCommit(savedUser.getId(), savedUser.getSecurityEpoch());
+        return savedUser;
+    }
+    
+    private void bumpSecurityEpoch(User user) {
+        long current = user.getSecurityEpoch() != null ? user.getSecurityEpoch() : 0L;
+        user.setSecurityEpoch(current + 1);
     }
 }
 
@@ -0,0 +1,467 @@
+package com.taskmgmt.util;
+
+import java.util.Arrays;
+import java.util.function.LongPredicate;
+
+/**
+ * Compressed set of non-negative long ids, Roaring-style.
+ * Ids are split into a high key (id >>> 16) and a 16-bit low part; each high
+ * key owns a container that is a sorted char array while sparse and switches
+ * to a 65536-bit bitmap once it holds more than 4096 values.
+ * Not thread-safe; and/or return new bitmaps and never share containers.
+ */
+public class CompressedBitmap {
+    private static final int ARRAY_MAX = 4096;
+    
+    private long[] keys = new long[4];
+    private Container[] containers = new Container[4];
+    private int size;
+    
+    public void add(long id) {
+        checkId(id);
+        long high = id >>> 16;
+        int i = Arrays.binarySearch(keys, 0, size, high);
+        if (i >= 0) {
+            containers[i] = containers[i].add((char) id);
+            return;
+        }
+        insertAt(-i - 1, high, new ArrayContainer().add((char) id));
+    }
+    
+    public void remove(long id) {
+        int i = Arrays.binarySearch(keys, 0, size, id >>> 16);
+        if (i < 0) {
+            return;
+        }
+        Container c = containers[i].remove((char) id);
+        if (c.cardinality() == 0) {
+            System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+            System.arraycopy(containers, i + 1, containers, i, size - i - 1);
+            containers[--size] = null;
+        } else {
+            containers[i] = c;
+        }
+    }
+    
+    public boolean contains(long id) {
+        int i = Arrays.binarySearch(keys, 0, size, id >>> 16);
+        return i >= 0 && containers[i].contains((char) id);
+    }
+    
+    public long cardinality() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += containers[i].cardinality();
+        }
+        return total;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public CompressedBitmap and(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container c = containers[i].and(other.containers[j]);
+                if (c.cardinality() > 0) {
+                    result.append(keys[i], c);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Size of the intersection, without building it.
+     */
+    public long andCardinality(CompressedBitmap other) {
+        long total = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                total += containers[i].andCardinality(other.containers[j]);
+                i++;
+                j++;
+            }
+        }
+        return total;
+    }
+    
+    public CompressedBitmap or(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j >= other.size || (i < size && keys[i] < other.keys[j])) {
+                result.append(keys[i], containers[i].copy());
+                i++;
+            } else if (i >= size || keys[i] > other.keys[j]) {
+                result.append(other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.append(keys[i], containers[i].or(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Visits ids greater than afterId in ascending order until the visitor returns false.
+     */
+    public void forEachAfter(long afterId, LongPredicate visitor) {
+        long fromHigh = afterId < 0 ? 0 : afterId >>> 16;
+        int i = Arrays.binarySearch(keys, 0, size, fromHigh);
+        int start = i >= 0 ? i : -i - 1;
+        for (int k = start; k < size; k++) {
+            int fromLow = keys[k] == fromHigh && afterId >= 0 ? ((int) afterId & 0xFFFF) + 1 : 0;
+            if (!containers[k].forEachFrom(keys[k] << 16, fromLow, visitor)) {
+                return;
+            }
+        }
+    }
+    
+    private void insertAt(int index, long high, Container container) {
+        ensureCapacity();
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = high;
+        containers[index] = container;
+        size++;
+    }
+    
+    private void append(long high, Container container) {
+        ensureCapacity();
+        keys[size] = high;
+        containers[size] = container;
+        size++;
+    }
+    
+    private void ensureCapacity() {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+    }
+    
+    private static void checkId(long id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Negative ids are not supported");
+        }
+    }
+    
+    private abstract static class Container {
+        abstract Container add(char value);
+        
+        abstract Container remove(char value);
+        
+        abstract boolean contains(char value);
+        
+        abstract int cardinality();
+        
+        abstract Container and(Container other);
+        
+        abstract int andCardinality(Container other);
+        
+        abstract Container or(Container other);
+        
+        abstract Container copy();
+        
+        /**
+         * Visits base + low for each low >= fromLow; false if the visitor stopped.
+         */
+        abstract boolean forEachFrom(long base, int fromLow, LongPredicate visitor);
+    }
+    
+    private static final class ArrayContainer extends Container {
+        private char[] values;
+        private int cardinality;
+        
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+        
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+        
+        @Override
+        Container add(char value) {
+            int i = Arrays.binarySearch(values, 0, cardinality, value);
+            if (i >= 0) {
+                return this;
+            }
+            if (cardinality >= ARRAY_MAX) {
+                return toBitmap().add(value);
+            }
+            i = -i - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(4, cardinality * 2)));
+            }
+            System.arraycopy(values, i, values, i + 1, cardinality - i);
+            values[i] = value;
+            cardinality++;
+            return this;
+        }
+        
+        @Override
+        Container remove(char value) {
+            int i = Arrays.binarySearch(values, 0, cardinality, value);
+            if (i >= 0) {
+                System.arraycopy(values, i + 1, values, i, cardinality - i - 1);
+                cardinality--;
+            }
+            return this;
+        }
+        
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+        
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+        
+        @Override
+        Container and(Container other) {
+            char[] out = new char[cardinality];
+            int n = 0;
+            if (other instanceof ArrayContainer) {
+                ArrayContainer o = (ArrayContainer) other;
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < o.cardinality) {
+                    if (values[i] < o.values[j]) {
+                        i++;
+                    } else if (values[i] > o.values[j]) {
+                        j++;
+                    } else {
+                        out[n++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        out[n++] = values[i];
+                    }
+                }
+            }
+            return new ArrayContainer(out, n);
+        }
+        
+        @Override
+        int andCardinality(Container other) {
+            if (other instanceof ArrayContainer) {
+                return and(other).cardinality();
+            }
+            int n = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i])) {
+                    n++;
+                }
+            }
+            return n;
+        }
+        
+        @Override
+        Container or(Container other) {
+            if (other instanceof BitmapContainer) {
+                return other.or(this);
+            }
+            ArrayContainer o = (ArrayContainer) other;
+            char[] out = new char[cardinality + o.cardinality];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < o.cardinality) {
+                if (j >= o.cardinality || (i < cardinality && values[i] < o.values[j])) {
+                    out[n++] = values[i++];
+                } else if (i >= cardinality || values[i] > o.values[j]) {
+                    out[n++] = o.values[j++];
+                } else {
+                    out[n++] = values[i++];
+                    j++;
+                }
+            }
+            ArrayContainer merged = new ArrayContainer(out, n);
+            return n > ARRAY_MAX ? merged.toBitmap() : merged;
+        }
+        
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(4, cardinality)), cardinality);
+        }
+        
+        @Override
+        boolean forEachFrom(long base, int fromLow, LongPredicate visitor) {
+            if (fromLow > 0xFFFF) {
+                return true;
+            }
+            int i = Arrays.binarySearch(values, 0, cardinality, (char) fromLow);
+            for (int k = i >= 0 ? i : -i - 1; k < cardinality; k++) {
+                if (!visitor.test(base | values[k])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+    
+    private static final class BitmapContainer extends Container {
+        private final long[] words;
+        private int cardinality;
+        
+        BitmapContainer() {
+            this(new long[1024], 0);
+        }
+        
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+        
+        @Override
+        Container add(char value) {
+            long before = words[value >>> 6];
+            words[value >>> 6] = before | (1L << value);
+            if (before != words[value >>> 6]) {
+                cardinality++;
+            }
+            return this;
+        }
+        
+        @Override
+        Container remove(char value) {
+            long before = words[value >>> 6];
+            words[value >>> 6] = before & ~(1L << value);
+            if (before != words[value >>> 6]) {
+                cardinality--;
+            }
+            return cardinality <= ARRAY_MAX ? toArray() : this;
+        }
+        
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+        
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+        
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            long[] o = ((BitmapContainer) other).words;
+            long[] out = new long[1024];
+            int n = 0;
+            for (int w = 0; w < 1024; w++) {
+                out[w] = words[w] & o[w];
+                n += Long.bitCount(out[w]);
+            }
+            BitmapContainer result = new BitmapContainer(out, n);
+            return n <= ARRAY_MAX ? result.toArray() : result;
+        }
+        
+        @Override
+        int andCardinality(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.andCardinality(this);
+            }
+            long[] o = ((BitmapContainer) other).words;
+            int n = 0;
+            for (int w = 0; w < 1024; w++) {
+                n += Long.bitCount(words[w] & o[w]);
+            }
+            return n;
+        }
+        
+        @Override
+        Container or(Container other) {
+            long[] out = words.clone();
+            if (other instanceof ArrayContainer) {
+                BitmapContainer result = new BitmapContainer(out, cardinality);
+                ArrayContainer o = (ArrayContainer) other;
+                for (int i = 0; i < o.cardinality; i++) {
+                    result.add(o.values[i]);
+                }
+                return result;
+            }
+            long[] o = ((BitmapContainer) other).words;
+            int n = 0;
+            for (int w = 0; w < 1024; w++) {
+                out[w] |= o[w];
+                n += Long.bitCount(out[w]);
+            }
+            return new BitmapContainer(out, n);
+        }
+        
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+        
+        @Override
+        boolean forEachFrom(long base, int fromLow, LongPredicate visitor) {
+            for (int w = fromLow >>> 6; w < 1024; w++) {
+                long word = words[w];
+                if (w == fromLow >>> 6) {
+                    word &= -1L << fromLow;
+                }
+                while (word != 0) {
+                    int low = (w << 6) + Long.numberOfTrailingZeros(word);
+                    if (!visitor.test(base | low)) {
+                        return false;
+                    }
+                    word &= word - 1;
+                }
+            }
+            return true;
+        }
+        
+        private ArrayContainer toArray() {
+            char[] values = new char[Math.max(4, cardinality)];
+            int n = 0;
+            for (int w = 0; w < 1024; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    values[n++] = (char) ((w << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, n);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.taskmgmt.util;
+
+import java.util.Collection;
+
+/**
+ * Immutable open-addressing set of primitive longs with O(1) contains.
+ * Changes produce a new set (copy-on-write), so readers need no locking.
+ * Value 0 is reserved as the empty-slot marker, which is fine for entity ids.
+ */
+public final class LongHashSet {
+    private static final LongHashSet EMPTY = new LongHashSet(new long[2], 0);
+    
+    private final long[] slots;
+    private final int size;
+    
+    private LongHashSet(long[] slots, int size) {
+        this.slots = slots;
+        this.size = size;
+    }
+    
+    public static LongHashSet of(Collection<Long> values) {
+        if (values.isEmpty()) {
+            return EMPTY;
+        }
+        // Load factor at most 0.5
+        long[] slots = new long[Integer.highestOneBit(Math.max(2, values.size()) * 2 - 1) << 1];
+        int size = 0;
+        for (Long value : values) {
+            if (insert(slots, value)) {
+                size++;
+            }
+        }
+        return new LongHashSet(slots, size);
+    }
+    
+    public boolean contains(long value) {
+        if (value == 0) {
+            return false;
+        }
+        int mask = slots.length - 1;
+        for (int i = mix(value) & mask; ; i = (i + 1) & mask) {
+            if (slots[i] == value) {
+                return true;
+            }
+            if (slots[i] == 0) {
+                return false;
+            }
+        }
+    }
+    
+    /**
+     * This set plus the value; returns this set if it is already present.
+     */
+    public LongHashSet with(long value) {
+        if (contains(value)) {
+            return this;
+        }
+        long[] grown = new long[(size + 1) * 2 > slots.length ? slots.length * 2 : slots.length];
+        for (long existing : slots) {
+            if (existing != 0) {
+                insert(grown, existing);
+            }
+        }
+        insert(grown, value);
+        return new LongHashSet(grown, size + 1);
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    private static boolean insert(long[] slots, long value) {
+        if (value == 0) {
+            throw new IllegalArgumentException("Value 0 is reserved");
+        }
+        int mask = slots.length - 1;
+        for (int i = mix(value) & mask; ; i = (i + 1) & mask) {
+            if (slots[i] == value) {
+                return false;
+            }
+            if (slots[i] == 0) {
+                slots[i] = value;
+                return true;
+            }
+        }
+    }
+    
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,153 @@
+package com.taskmgmt.util;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Open-addressing map from primitive long keys to primitive long values.
+ * Reads are optimistic and lock-free in the common case; writes take a lock.
+ * Key 0 is reserved as the empty-slot marker, which is fine for entity ids.
+ */
+public class LongLongMap {
+    private static final float LOAD_FACTOR = 0.5f;
+    
+    private final StampedLock lock = new StampedLock();
+    private volatile Table table;
+    private int size;
+    
+    public LongLongMap() {
+        this(16);
+    }
+    
+    public LongLongMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        this.table = new Table(capacity);
+    }
+    
+    public long get(long key, long defaultValue) {
+        long stamp = lock.tryOptimisticRead();
+        long value = table.get(key, defaultValue);
+        if (lock.validate(stamp)) {
+            return value;
+        }
+        stamp = lock.readLock();
+        try {
+            return table.get(key, defaultValue);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+    
+    public void put(long key, long value) {
+        checkKey(key);
+        long stamp = lock.writeLock();
+        try {
+            if (table.put(key, value)) {
+                size++;
+                if (size > table.keys.length * LOAD_FACTOR) {
+                    resize();
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+    
+    /**
+     * Stores the value only if it is larger than the current one (or absent).
+     */
+    public void putIfGreater(long key, long value) {
+        checkKey(key);
+        long stamp = lock.writeLock();
+        try {
+            Table current = table;
+            int slot = current.slot(key);
+            if (current.keys[slot] == key && current.values[slot] >= value) {
+                return;
+            }
+            if (current.put(key, value)) {
+                size++;
+                if (size > current.keys.length * LOAD_FACTOR) {
+                    resize();
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+    
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+    
+    private void resize() {
+        Table old = table;
+        Table grown = new Table(old.keys.length << 1);
+        for (int i = 0; i < old.keys.length; i++) {
+            if (old.keys[i] != 0) {
+                grown.put(old.keys[i], old.values[i]);
+            }
+        }
+        table = grown;
+    }
+    
+    private static void checkKey(long key) {
+        if (key == 0) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+    }
+    
+    private static final class Table {
+        final long[] keys;
+        final long[] values;
+        final int mask;
+        
+        Table(int capacity) {
+            keys = new long[capacity];
+            values = new long[capacity];
+            mask = capacity - 1;
+        }
+        
+        int slot(long key) {
+            int i = mix(key) & mask;
+            // Bounded probe so a torn optimistic read can never spin forever
+            for (int probes = 0; probes <= mask; probes++) {
+                long k = keys[i];
+                if (k == key || k == 0) {
+                    return i;
+                }
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+        
+        long get(long key, long defaultValue) {
+            if (key == 0) {
+                // Would otherwise match the first empty slot
+                return defaultValue;
+            }
+            int i = slot(key);
+            return keys[i] == key ? values[i] : defaultValue;
+        }
+        
+        /**
+         * @return true if a new key was inserted
+         */
+        boolean put(long key, long value) {
+            int i = slot(key);
+            boolean inserted = keys[i] != key;
+            values[i] = value;
+            keys[i] = key;
+            return inserted;
+        }
+        
+        private static int mix(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Copies the status history of databases created before the event log into
+ * task_status_events. The old task_status_history table was the Task
+ * element collection (task_id, status, changed_at, changed_by), with the
+ * status stored as the TaskStatus ordinal and no order or identity; entries
+ * are numbered per task by time. Events a task already has were written
+ * after its history, so they move up past it.
+ */
+public class V6__Copy_task_status_history extends BaseJavaMigration {
+    
+    // TaskStatus ordinals as of the baseline: TODO, IN_PROGRESS, IN_REVIEW, COMPLETED, CANCELLED
+    private static final String STATUS_NAME = "CASE h.status " +
+            "WHEN 0 THEN 'TODO' WHEN 1 THEN 'IN_PROGRESS' WHEN 2 THEN 'IN_REVIEW' " +
+            "WHEN 3 THEN 'COMPLETED' WHEN 4 THEN 'CANCELLED' END";
+    
+    @Override
+    public void migrate(Context context) throws SQLException {
+        try (Statement statement = context.getConnection().createStatement()) {
+            statement.execute("CREATE TABLE task_status_history_staged AS " +
+                    "SELECT h.task_id, t.project_id, " +
+                    "ROW_NUMBER() OVER (PARTITION BY h.task_id ORDER BY h.changed_at, h.status) AS seq, " +
+                    "COUNT(*) OVER (PARTITION BY h.task_id) AS entries, " +
+                    "LAG(" + STATUS_NAME + ") OVER (PARTITION BY h.task_id ORDER BY h.changed_at, h.status) AS from_status, " +
+                    STATUS_NAME + " AS to_status, COALESCE(h.changed_at, t.created_at, CURRENT_TIMESTAMP) AS changed_at, " +
+                    "h.changed_by " +
+                    "FROM task_status_history h JOIN tasks t ON t.id = h.task_id " +
+                    "WHERE h.status IS NOT NULL");
+            
+            // Two steps, so no intermediate seq collides under uk_task_status_event_seq
+            statement.executeUpdate("UPDATE task_status_events e SET seq = -(seq + " +
+                    "(SELECT MAX(s.entries) FROM task_status_history_staged s WHERE s.task_id = e.task_id)) " +
+                    "WHERE e.task_id IN (SELECT s.task_id FROM task_status_history_staged s)");
+            statement.executeUpdate("UPDATE task_status_events SET seq = -seq WHERE seq < 0");
+            
+            statement.executeUpdate("INSERT INTO task_status_events " +
+                    "(id, task_id, project_id, seq, from_status, to_status, changed_at, changed_by) " +
+                    "SELECT NEXT VALUE FOR task_status_event_seq, s.task_id, s.project_id, s.seq, " +
+                    "s.from_status, s.to_status, s.changed_at, s.changed_by " +
+                    "FROM task_status_history_staged s");
+            
+            // The next transition of each task appends after its last event
+            statement.executeUpdate("UPDATE tasks t SET status_event_seq = " +
+                    "COALESCE((SELECT MAX(e.seq) FROM task_status_events e WHERE e.task_id = t.id), 0) " +
+                    "WHERE t.id IN (SELECT s.task_id FROM task_status_history_staged s)");
+            
+            statement.execute("DROP TABLE task_status_history_staged");
+            statement.execute("DROP TABLE task_status_history");
+        }
+    }
+}
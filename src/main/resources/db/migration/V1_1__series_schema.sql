@@ -0,0 +1,76 @@
+-- Tables and columns added since the ddl-auto baseline in V1.
+
+ALTER TABLE users ADD COLUMN security_epoch BIGINT;
+UPDATE users SET security_epoch = 0;
+
+ALTER TABLE projects ADD COLUMN version BIGINT;
+ALTER TABLE projects DROP COLUMN cached_stats;
+
+-- Task ids come from a pooled sequence; it hands out ids just below its
+-- value, so it starts one allocation past the existing ids
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE task_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE task_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM tasks);
+
+-- V6 moves the status history into task_status_events and numbers it from there
+ALTER TABLE tasks ADD COLUMN status_event_seq BIGINT DEFAULT 0 NOT NULL;
+
+CREATE SEQUENCE task_status_event_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE task_status_events (
+    id           BIGINT PRIMARY KEY,
+    task_id      BIGINT NOT NULL,
+    project_id   BIGINT NOT NULL,
+    seq          BIGINT NOT NULL,
+    from_status  VARCHAR(255),
+    to_status    VARCHAR(255) NOT NULL,
+    changed_at   TIMESTAMP NOT NULL,
+    changed_by   VARCHAR(255),
+    CONSTRAINT uk_task_status_event_seq UNIQUE (task_id, seq)
+);
+
+CREATE INDEX idx_task_status_event_project ON task_status_events (project_id, changed_at);
+
+-- Filled from tasks by ProjectTaskCountRepository.backfillMissing at startup
+CREATE TABLE project_task_counts (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    project_id  BIGINT NOT NULL,
+    status      VARCHAR(255) NOT NULL,
+    priority    VARCHAR(255) NOT NULL,
+    task_count  BIGINT NOT NULL,
+    CONSTRAINT uk_project_task_count_cell UNIQUE (project_id, status, priority)
+);
+
+CREATE TABLE revoked_tokens (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token_digest  VARCHAR(64) NOT NULL,
+    user_id       BIGINT,
+    expires_at    TIMESTAMP NOT NULL,
+    revoked_at    TIMESTAMP,
+    CONSTRAINT uk_revoked_tokens_digest UNIQUE (token_digest)
+);
+
+CREATE TABLE archive_checkpoints (
+    id                BIGINT PRIMARY KEY,
+    cutoff            TIMESTAMP,
+    last_task_id      BIGINT NOT NULL,
+    segment_number    INTEGER NOT NULL,
+    committed_offset  BIGINT NOT NULL,
+    updated_at        TIMESTAMP
+);
+
+CREATE SEQUENCE archived_task_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE archived_tasks (
+    id              BIGINT PRIMARY KEY,
+    task_id         BIGINT NOT NULL,
+    project_id      BIGINT NOT NULL,
+    title           VARCHAR(255),
+    completed_at    TIMESTAMP,
+    segment_number  INTEGER NOT NULL,
+    segment_offset  BIGINT NOT NULL,
+    archived_at     TIMESTAMP,
+    CONSTRAINT uk_archived_tasks_task UNIQUE (task_id)
+);
+
+CREATE INDEX idx_archived_task_project ON archived_tasks (project_id, task_id);
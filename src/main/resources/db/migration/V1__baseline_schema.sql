@@ -0,0 +1,78 @@
+-- Schema as previously generated by hibernate.ddl-auto=update, constraint
+-- names included. Existing databases are baselined at this version; changes
+-- made since then start at V1.1.
+
+CREATE TABLE users (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username        VARCHAR(255) NOT NULL,
+    email           VARCHAR(255) NOT NULL,
+    password_hash   VARCHAR(255),
+    full_name       VARCHAR(255),
+    role            VARCHAR(255),
+    created_at      TIMESTAMP,
+    last_login_at   TIMESTAMP,
+    updated_at      TIMESTAMP,
+    active          BOOLEAN,
+    session_token   VARCHAR(255),
+    CONSTRAINT UK_r43af9ap4edm43mmtq01oddj6 UNIQUE (username),
+    CONSTRAINT UK_6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email)
+);
+
+CREATE TABLE projects (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name          VARCHAR(255) NOT NULL,
+    description   VARCHAR(255),
+    status        VARCHAR(255),
+    owner_id      BIGINT NOT NULL,
+    cached_stats  VARCHAR(255),
+    created_at    TIMESTAMP,
+    updated_at    TIMESTAMP,
+    archived_at   TIMESTAMP,
+    CONSTRAINT FKmueqy6cpcwpfl8gnnag4idjt9 FOREIGN KEY (owner_id) REFERENCES users (id)
+);
+
+CREATE TABLE project_members (
+    project_id  BIGINT NOT NULL,
+    user_id     BIGINT NOT NULL,
+    PRIMARY KEY (project_id, user_id),
+    CONSTRAINT FKdki1sp2homqsdcvqm9yrix31g FOREIGN KEY (project_id) REFERENCES projects (id),
+    CONSTRAINT FKgul2el0qjk5lsvig3wgajwm77 FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE tasks (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title         VARCHAR(255) NOT NULL,
+    description   VARCHAR(2000),
+    status        VARCHAR(255),
+    priority      VARCHAR(255),
+    project_id    BIGINT NOT NULL,
+    assignee_id   BIGINT,
+    created_at    TIMESTAMP,
+    updated_at    TIMESTAMP,
+    due_date      TIMESTAMP,
+    completed_at  TIMESTAMP,
+    version       BIGINT,
+    CONSTRAINT FKsfhn82y57i3k9uxww1s007acc FOREIGN KEY (project_id) REFERENCES projects (id),
+    CONSTRAINT FKekr1dgiqktpyoip3qmp6lxsit FOREIGN KEY (assignee_id) REFERENCES users (id)
+);
+
+-- Task.statusHistory element collection; status is the TaskStatus ordinal
+CREATE TABLE task_status_history (
+    task_id     BIGINT NOT NULL,
+    status      INTEGER,
+    changed_at  TIMESTAMP,
+    changed_by  VARCHAR(255),
+    CONSTRAINT FKlbsvojobaaf8bkuddoe7ig25s FOREIGN KEY (task_id) REFERENCES tasks (id)
+);
+
+CREATE TABLE comments (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    content     VARCHAR(2000) NOT NULL,
+    task_id     BIGINT NOT NULL,
+    author_id   BIGINT NOT NULL,
+    created_at  TIMESTAMP,
+    updated_at  TIMESTAMP,
+    deleted     BOOLEAN,
+    CONSTRAINT FKi7pp0331nbiwd2844kg78kfwb FOREIGN KEY (task_id) REFERENCES tasks (id),
+    CONSTRAINT FKn2na60ukhs76ibtpt9burkm27 FOREIGN KEY (author_id) REFERENCES users (id)
+);
@@ -0,0 +1,4 @@
+-- Comment threads page newest-first by id within a task's active comments,
+-- and batch counts group by task; both are served by one index
+DROP INDEX idx_comments_task_deleted;
+CREATE INDEX idx_comments_task_thread ON comments (task_id, deleted, id);
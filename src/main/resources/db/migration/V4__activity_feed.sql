@@ -0,0 +1,21 @@
+-- Project activity feed: comments, status changes and assignments, each
+-- paged newest-first by (project_id, time).
+
+ALTER TABLE comments ADD COLUMN project_id BIGINT;
+UPDATE comments c SET project_id = (SELECT t.project_id FROM tasks t WHERE t.id = c.task_id);
+ALTER TABLE comments ALTER COLUMN project_id SET NOT NULL;
+CREATE INDEX idx_comments_project_created ON comments (project_id, created_at, id);
+
+CREATE SEQUENCE task_assignment_event_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE task_assignment_events (
+    id                    BIGINT PRIMARY KEY,
+    task_id               BIGINT NOT NULL,
+    project_id            BIGINT NOT NULL,
+    previous_assignee_id  BIGINT,
+    assignee_id           BIGINT,
+    assigned_at           TIMESTAMP NOT NULL,
+    assigned_by           VARCHAR(255)
+);
+
+CREATE INDEX idx_task_assignment_event_project ON task_assignment_events (project_id, assigned_at);
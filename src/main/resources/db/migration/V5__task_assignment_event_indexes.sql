@@ -0,0 +1,6 @@
+-- Task deletes and archiving remove a task's assignment events by task_id,
+-- and the feed pages by (assigned_at, id) within a project
+CREATE INDEX idx_task_assignment_event_task ON task_assignment_events (task_id);
+
+DROP INDEX idx_task_assignment_event_project;
+CREATE INDEX idx_task_assignment_event_project ON task_assignment_events (project_id, assigned_at, id);
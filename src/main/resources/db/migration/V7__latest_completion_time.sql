@@ -0,0 +1,7 @@
+-- completed_at used to keep a task's first completion; archiving counts from
+-- the latest one, so completed tasks take the time of their last move into COMPLETED.
+
+UPDATE tasks t SET completed_at = (
+    SELECT MAX(e.changed_at) FROM task_status_events e WHERE e.task_id = t.id AND e.to_status = 'COMPLETED')
+WHERE t.status = 'COMPLETED'
+  AND EXISTS (SELECT 1 FROM task_status_events e WHERE e.task_id = t.id AND e.to_status = 'COMPLETED');
@@ -0,0 +1,316 @@
+package com.taskmgmt.repository;
+
+import com.taskmgmt.model.Project.ProjectStatus;
+import com.taskmgmt.model.Task.TaskPriority;
+import com.taskmgmt.model.Task.TaskStatus;
+import com.taskmgmt.model.User;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every query method of the Task, Project, Comment, User,
+ * TaskStatusEvent and TaskAssignmentEvent repositories against a seeded database built by the Flyway migrations,
+ * captures the SQL Hibernate generates, and checks its EXPLAIN plan.
+ * A plan that reads a whole table - a tableScan, or an index walked without
+ * a condition - fails the test unless the query is listed in FULL_SCAN_ALLOWED.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.taskmgmt.repository.QueryPlanTest$CapturingStatementInspector")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QueryPlanTest {
+    private static final int USERS = 200;
+    private static final int PROJECTS = 50;
+    private static final int TASKS = 5000;
+    private static final int COMMENTS = 10000;
+    private static final int STATUS_EVENTS = 10000;
+    private static final int ASSIGNMENT_EVENTS = 10000;
+    
+    // Table and index names in an H2 plan comment, e.g. "/* PUBLIC.TASKS.tableScan */" or "/* PUBLIC.IDX_X */"
+    private static final Pattern TABLE_SCAN = Pattern.compile("/\\* PUBLIC\\.(\\w+)\\.tableScan \\*/");
+    private static final Pattern UNCONDITIONAL_INDEX_SCAN = Pattern.compile("/\\* PUBLIC\\.(\\w+) \\*/");
+    
+    // Reads of every row by design: admin listings and startup warm-ups
+    private static final Set<String> FULL_SCAN_ALLOWED = Set.of(
+            "ProjectRepository.findAllIds",
+            "UserRepository.findByActiveTrue",
+            "UserRepository.findActiveUserDtos",
+            "UserRepository.findByRole");
+    
+    @Autowired
+    private TaskRepository taskRepository;
+    
+    @Autowired
+    private ProjectRepository projectRepository;
+    
+    @Autowired
+    private CommentRepository commentRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TaskStatusEventRepository taskStatusEventRepository;
+    
+    @Autowired
+    private TaskAssignmentEventRepository taskAssignmentEventRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Test
+    void repositoryQueriesUseIndexes() {
+        seed();
+        Map<String, Runnable> queries = queries();
+        
+        assertThat(queries.keySet())
+                .as("every repository query method needs an entry in queries()")
+                .containsAll(declaredQueryMethods());
+        
+        List<String> failures = new ArrayList<>();
+        queries.forEach((name, query) -> {
+            CapturingStatementInspector.CAPTURED.clear();
+            query.run();
+            assertThat(CapturingStatementInspector.CAPTURED).as("SQL captured for %s", name).isNotEmpty();
+            
+            for (String sql : CapturingStatementInspector.CAPTURED) {
+                if (!sql.trim().toLowerCase().startsWith("select")) {
+                    continue;
+                }
+                String plan = explain(sql);
+                Set<String> scanned = fullScans(plan);
+                if (!scanned.isEmpty() && !FULL_SCAN_ALLOWED.contains(name)) {
+                    failures.add(name + " scans " + scanned + ":\n    " + plan);
+                }
+            }
+        });
+        
+        assertThat(failures).as("queries that regressed to a full scan").isEmpty();
+    }
+    
+    private Map<String, Runnable> queries() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = List.of(1L, 2L, 3L);
+        PageRequest page = PageRequest.of(0, 20);
+        User user = entityManager.getReference(User.class, 1L);
+        
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("TaskRepository.findByProjectId", () -> taskRepository.findByProjectId(1L));
+        queries.put("TaskRepository.findByAssignee", () -> taskRepository.findByAssignee(user));
+        queries.put("TaskRepository.findByStatus", () -> taskRepository.findByStatus(TaskStatus.IN_REVIEW));
+        queries.put("TaskRepository.findByProjectIdAndStatus", () -> taskRepository.findByProjectIdAndStatus(1L, TaskStatus.TODO));
+        queries.put("TaskRepository.findOverdueTasksForUser", () -> taskRepository.findOverdueTasksForUser(1L, now));
+        queries.put("TaskRepository.findAllByProjectId", () -> taskRepository.findAllByProjectId(1L));
+        queries.put("TaskRepository.countByProjectIdAndStatus", () -> taskRepository.countByProjectIdAndStatus(1L, TaskStatus.TODO));
+        queries.put("TaskRepository.findOpenDueDates", () -> taskRepository.findOpenDueDates(now, TaskStatus.COMPLETED, TaskStatus.CANCELLED));
+        queries.put("TaskRepository.findTextByProjectIds", () -> taskRepository.findTextByProjectIds(ids));
+        queries.put("TaskRepository.findTextByIds", () -> taskRepository.findTextByIds(ids));
+        queries.put("TaskRepository.findFacetRowsByProjectIds", () -> taskRepository.findFacetRowsByProjectIds(ids));
+        queries.put("TaskRepository.findFacetRowsByIds", () -> taskRepository.findFacetRowsByIds(ids));
+        queries.put("TaskRepository.findDtosByIds", () -> taskRepository.findDtosByIds(ids));
+        queries.put("TaskRepository.findOverdueDtosByIds", () -> taskRepository.findOverdueDtosByIds(ids, now, TaskStatus.COMPLETED, TaskStatus.CANCELLED));
+        queries.put("TaskRepository.findArchivableChunk", () -> taskRepository.findArchivableChunk(TaskStatus.COMPLETED, now, 0L, page));
+        queries.put("TaskRepository.findDtoById", () -> taskRepository.findDtoById(1L));
+        queries.put("TaskRepository.findAssigneePage", () -> taskRepository.findAssigneePage(1L, 0L, page));
+        queries.put("TaskRepository.findOverduePage", () -> taskRepository.findOverduePage(1L, now, 0L, page));
+        queries.put("TaskRepository.findProjectPage", () -> taskRepository.findProjectPage(1L, TaskStatus.TODO, TaskPriority.HIGH, 0L, 20));
+        
+        queries.put("ProjectRepository.findByOwner", () -> projectRepository.findByOwner(user));
+        queries.put("ProjectRepository.findByStatus", () -> projectRepository.findByStatus(ProjectStatus.ARCHIVED));
+        queries.put("ProjectRepository.findByMemberId", () -> projectRepository.findByMemberId(1L));
+        queries.put("ProjectRepository.findDtosByIds", () -> projectRepository.findDtosByIds(ids));
+        queries.put("ProjectRepository.findSummariesByIds", () -> projectRepository.findSummariesByIds(ids, Set.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS)));
+        queries.put("ProjectRepository.findDtoById", () -> projectRepository.findDtoById(1L));
+        queries.put("ProjectRepository.findOwnerId", () -> projectRepository.findOwnerId(1L));
+        queries.put("ProjectRepository.findMemberIds", () -> projectRepository.findMemberIds(1L));
+        queries.put("ProjectRepository.findIdsOwnedBy", () -> projectRepository.findIdsOwnedBy(1L));
+        queries.put("ProjectRepository.findIdsWithMember", () -> projectRepository.findIdsWithMember(1L));
+        queries.put("ProjectRepository.findAllIds", () -> projectRepository.findAllIds());
+        queries.put("ProjectRepository.findIdsByStatus", () -> projectRepository.findIdsByStatus(ProjectStatus.ARCHIVED));
+        queries.put("ProjectRepository.findByIdAndStatus", () -> projectRepository.findByIdAndStatus(1L, ProjectStatus.ACTIVE));
+        queries.put("ProjectRepository.findAllByStatus", () -> projectRepository.findAllByStatus(ProjectStatus.ARCHIVED));
+        
+        queries.put("CommentRepository.findByTaskId", () -> commentRepository.findByTaskId(1L));
+        queries.put("CommentRepository.findByAuthorId", () -> commentRepository.findByAuthorId(1L));
+        queries.put("CommentRepository.findThreadPage", () -> commentRepository.findThreadPage(1L, Long.MAX_VALUE, page));
+        queries.put("CommentRepository.findFeedPage", () -> commentRepository.findFeedPage(1L, now, Long.MAX_VALUE, page));
+        queries.put("CommentRepository.countActiveByTaskIds", () -> commentRepository.countActiveByTaskIds(ids));
+        queries.put("CommentRepository.findActiveTextByProjectIds", () -> commentRepository.findActiveTextByProjectIds(ids));
+        queries.put("CommentRepository.findActiveTextByTaskIds", () -> commentRepository.findActiveTextByTaskIds(ids));
+        queries.put("CommentRepository.findArchivedComments", () -> commentRepository.findArchivedComments(ids));
+        
+        queries.put("UserRepository.findByUsername", () -> userRepository.findByUsername("user1"));
+        queries.put("UserRepository.findByEmail", () -> userRepository.findByEmail("user1@example.com"));
+        queries.put("UserRepository.findBySessionToken", () -> userRepository.findBySessionToken("session-1"));
+        queries.put("UserRepository.findByActiveTrue", () -> userRepository.findByActiveTrue());
+        queries.put("UserRepository.findActiveUserDtos", () -> userRepository.findActiveUserDtos());
+        queries.put("UserRepository.findByRole", () -> userRepository.findByRole(User.UserRole.ADMIN));
+        queries.put("UserRepository.findActiveUsersSince", () -> userRepository.findActiveUsersSince(now.minusHours(1)));
+        queries.put("UserRepository.findNonZeroSecurityEpochs", () -> userRepository.findNonZeroSecurityEpochs());
+        queries.put("UserRepository.existsByUsername", () -> userRepository.existsByUsername("user1"));
+        queries.put("UserRepository.existsByEmail", () -> userRepository.existsByEmail("user1@example.com"));
+        
+        queries.put("TaskStatusEventRepository.findHistoryPage", () -> taskStatusEventRepository.findHistoryPage(1L, 0L, page));
+        queries.put("TaskStatusEventRepository.findFeedPage", () -> taskStatusEventRepository.findFeedPage(1L, now, Long.MAX_VALUE, page));
+        queries.put("TaskStatusEventRepository.findByTaskIdInOrderByTaskIdAscSeqAsc", () -> taskStatusEventRepository.findByTaskIdInOrderByTaskIdAscSeqAsc(ids));
+        
+        queries.put("TaskAssignmentEventRepository.findFeedPage", () -> taskAssignmentEventRepository.findFeedPage(1L, now, Long.MAX_VALUE, page));
+        return queries;
+    }
+    
+    private static Set<String> declaredQueryMethods() {
+        Set<String> names = new TreeSet<>();
+        for (Class<?> repository : List.of(TaskRepository.class, ProjectRepository.class,
+                CommentRepository.class, UserRepository.class,
+                TaskStatusEventRepository.class, TaskAssignmentEventRepository.class)) {
+            for (Method method : repository.getDeclaredMethods()) {
+                if (!method.isDefault() && !method.isSynthetic() && !method.isAnnotationPresent(Modifying.class)) {
+                    names.add(repository.getSimpleName() + "." + method.getName());
+                }
+            }
+        }
+        return names;
+    }
+    
+    /**
+     * Plans the statement with every parameter bound to NULL. H2 chooses
+     * indexes from the shape of the conditions, not the bound values.
+     */
+    private String explain(String sql) {
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setObject(i, null);
+                }
+                try (ResultSet plan = statement.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1).replaceAll("\\s+", " ");
+                }
+            }
+        });
+    }
+    
+    private static Set<String> fullScans(String plan) {
+        Set<String> scanned = new TreeSet<>();
+        for (Pattern pattern : Arrays.asList(TABLE_SCAN, UNCONDITIONAL_INDEX_SCAN)) {
+            Matcher matcher = pattern.matcher(plan);
+            while (matcher.find()) {
+                scanned.add(matcher.group(1));
+            }
+        }
+        return scanned;
+    }
+    
+    private void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        TaskStatus[] statuses = TaskStatus.values();
+        TaskPriority[] priorities = TaskPriority.values();
+        
+        List<Object[]> users = new ArrayList<>();
+        for (long id = 1; id <= USERS; id++) {
+            users.add(new Object[]{id, "user" + id, "user" + id + "@example.com",
+                    User.UserRole.values()[(int) (id % User.UserRole.values().length)].name(),
+                    now.minusDays(id % 30), id % 10 != 0, id % 50 == 0 ? 1L : 0L, id % 5 == 0 ? "session-" + id : null});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, username, email, role, last_login_at, active, security_epoch, session_token) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", users);
+        
+        List<Object[]> projects = new ArrayList<>();
+        List<Object[]> members = new ArrayList<>();
+        List<Object[]> counts = new ArrayList<>();
+        for (long id = 1; id <= PROJECTS; id++) {
+            long ownerId = id % USERS + 1;
+            projects.add(new Object[]{id, "Project " + id, id % 10 == 0 ? "ARCHIVED" : "ACTIVE", ownerId});
+            for (long member = 0; member < 10; member++) {
+                members.add(new Object[]{id, (ownerId + member * 7) % USERS + 1});
+            }
+            for (TaskStatus status : statuses) {
+                for (TaskPriority priority : priorities) {
+                    counts.add(new Object[]{id, status.name(), priority.name()});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO projects (id, name, status, owner_id, version) VALUES (?, ?, ?, ?, 0)", projects);
+        jdbcTemplate.batchUpdate("INSERT INTO project_members (project_id, user_id) VALUES (?, ?)", members);
+        jdbcTemplate.batchUpdate("INSERT INTO project_task_counts (project_id, status, priority, task_count) VALUES (?, ?, ?, 0)", counts);
+        
+        List<Object[]> tasks = new ArrayList<>();
+        for (long id = 1; id <= TASKS; id++) {
+            TaskStatus status = statuses[(int) (id % statuses.length)];
+            tasks.add(new Object[]{id, "Task " + id, status.name(), priorities[(int) (id % priorities.length)].name(),
+                    id % PROJECTS + 1, id % 4 == 0 ? null : id % USERS + 1, now.plusDays(id % 60 - 30),
+                    status == TaskStatus.COMPLETED ? now.minusDays(id % 400) : null});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (id, title, status, priority, project_id, assignee_id, due_date, completed_at, " +
+                "version, status_event_seq) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, 1)", tasks);
+        
+        List<Object[]> comments = new ArrayList<>();
+        for (long id = 1; id <= COMMENTS; id++) {
+            long taskId = id % TASKS + 1;
+            comments.add(new Object[]{id, "Comment " + id, taskId, taskId % PROJECTS + 1, id % USERS + 1,
+                    now.minusMinutes(COMMENTS - id), id % 20 == 0});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO comments (id, content, task_id, project_id, author_id, created_at, deleted) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", comments);
+        
+        List<Object[]> statusEvents = new ArrayList<>();
+        for (long id = 1; id <= STATUS_EVENTS; id++) {
+            long taskId = id % TASKS + 1;
+            statusEvents.add(new Object[]{id, taskId, taskId % PROJECTS + 1, (id - 1) / TASKS + 1,
+                    statuses[(int) (id % statuses.length)].name(), now.minusMinutes(STATUS_EVENTS - id), "user" + (id % USERS + 1)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO task_status_events (id, task_id, project_id, seq, to_status, changed_at, changed_by) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", statusEvents);
+        
+        List<Object[]> assignmentEvents = new ArrayList<>();
+        for (long id = 1; id <= ASSIGNMENT_EVENTS; id++) {
+            long taskId = id % TASKS + 1;
+            assignmentEvents.add(new Object[]{id, taskId, taskId % PROJECTS + 1, (id + 1) % USERS + 1, id % USERS + 1,
+                    now.minusMinutes(ASSIGNMENT_EVENTS - id), "user" + (id % USERS + 1)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO task_assignment_events (id, task_id, project_id, previous_assignee_id, assignee_id, " +
+                "assigned_at, assigned_by) VALUES (?, ?, ?, ?, ?, ?, ?)", assignmentEvents);
+        
+        // Refresh H2's selectivity statistics so plans reflect the seeded distribution
+        jdbcTemplate.execute("ANALYZE");
+    }
+    
+    public static class CapturingStatementInspector implements StatementInspector {
+        static final List<String> CAPTURED = new CopyOnWriteArrayList<>();
+        
+        @Override
+        public String inspect(String sql) {
+            CAPTURED.add(sql);
+            return sql;
+        }
+    }
+}
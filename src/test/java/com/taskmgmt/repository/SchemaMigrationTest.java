@@ -0,0 +1,109 @@
+package com.taskmgmt.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Upgrades a database in the ddl-auto baseline shape (V1) to the latest
+ * migration, the path a database created before Flyway takes after being
+ * baselined, and checks the data carried across it.
+ */
+class SchemaMigrationTest {
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbc;
+    
+    @BeforeEach
+    void createBaseline() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:migration-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        flyway("1").migrate();
+        
+        jdbc.update("INSERT INTO users (id, username, email, active) VALUES (1, 'alice', 'alice@example.com', TRUE)");
+        jdbc.update("INSERT INTO projects (id, name, status, owner_id, cached_stats) VALUES (1, 'Apollo', 'ACTIVE', 1, '{}')");
+        jdbc.update("INSERT INTO project_members (project_id, user_id) VALUES (1, 1)");
+        for (long id = 7; id <= 9; id++) {
+            jdbc.update("INSERT INTO tasks (id, title, status, priority, project_id, created_at) " +
+                    "VALUES (?, 'Task', 'TODO', 'MEDIUM', 1, TIMESTAMP '2024-01-01 00:00:00')", id);
+        }
+        // Completed, reopened and completed again; completed_at kept the first completion
+        jdbc.update("UPDATE tasks SET status = 'COMPLETED', completed_at = TIMESTAMP '2024-01-03 00:00:00' WHERE id = 7");
+        // Ordinals: TODO=0, IN_PROGRESS=1, COMPLETED=3
+        insertHistory(7, 0, "2024-01-01 00:00:00");
+        insertHistory(7, 3, "2024-01-03 00:00:00");
+        insertHistory(7, 1, "2024-01-04 00:00:00");
+        insertHistory(7, 3, "2024-01-05 00:00:00");
+        insertHistory(8, 0, "2024-01-01 00:00:00");
+        jdbc.update("INSERT INTO comments (id, content, task_id, author_id, created_at, deleted) " +
+                "VALUES (1, 'Hi', 7, 1, TIMESTAMP '2024-01-02 00:00:00', NULL)");
+    }
+    
+    @Test
+    void baselineUpgradesToLatest() {
+        flyway(null).migrate();
+        
+        List<Map<String, Object>> events = jdbc.queryForList(
+                "SELECT seq, from_status, to_status FROM task_status_events WHERE task_id = 7 ORDER BY seq");
+        assertThat(events).extracting(e -> e.get("SEQ"), e -> e.get("FROM_STATUS"), e -> e.get("TO_STATUS"))
+                .containsExactly(
+                        tuple(1L, null, "TODO"),
+                        tuple(2L, "TODO", "COMPLETED"),
+                        tuple(3L, "COMPLETED", "IN_PROGRESS"),
+                        tuple(4L, "IN_PROGRESS", "COMPLETED"));
+        assertThat(jdbc.queryForList("SELECT id, status_event_seq FROM tasks ORDER BY id"))
+                .extracting(t -> t.get("STATUS_EVENT_SEQ"))
+                .containsExactly(4L, 1L, 0L);
+        assertThat(jdbc.queryForObject("SELECT completed_at FROM tasks WHERE id = 7", LocalDateTime.class))
+                .isEqualTo(LocalDateTime.of(2024, 1, 5, 0, 0));
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM information_schema.tables " +
+                "WHERE table_name = 'TASK_STATUS_HISTORY'", Long.class)).isZero();
+        
+        // Pooled ids are handed out from (value - 49), past the identity-assigned ones
+        Long next = jdbc.queryForObject("SELECT NEXT VALUE FOR task_seq", Long.class);
+        assertThat(next - 49).isGreaterThan(9);
+        
+        assertThat(jdbc.queryForObject("SELECT security_epoch FROM users WHERE id = 1", Long.class)).isZero();
+        assertThat(jdbc.queryForObject("SELECT version FROM projects WHERE id = 1", Long.class)).isZero();
+        assertThat(jdbc.queryForObject("SELECT project_id FROM comments WHERE id = 1", Long.class)).isEqualTo(1L);
+        assertThat(jdbc.queryForObject("SELECT deleted FROM comments WHERE id = 1", Boolean.class)).isFalse();
+    }
+    
+    @Test
+    void copiedHistoryPrecedesExistingEvents() {
+        flyway("5").migrate();
+        // An event the new code wrote for task 8 before its history was copied
+        jdbc.update("INSERT INTO task_status_events (id, task_id, project_id, seq, from_status, to_status, changed_at) " +
+                "VALUES (1000, 8, 1, 1, 'TODO', 'IN_PROGRESS', TIMESTAMP '2024-02-01 00:00:00')");
+        jdbc.update("UPDATE tasks SET status_event_seq = 1 WHERE id = 8");
+        
+        flyway(null).migrate();
+        
+        assertThat(jdbc.queryForList("SELECT to_status FROM task_status_events WHERE task_id = 8 ORDER BY seq", String.class))
+                .containsExactly("TODO", "IN_PROGRESS");
+        assertThat(jdbc.queryForObject("SELECT status_event_seq FROM tasks WHERE id = 8", Long.class)).isEqualTo(2L);
+    }
+    
+    private Flyway flyway(String target) {
+        FluentConfiguration configuration = Flyway.configure().dataSource(dataSource);
+        if (target != null) {
+            configuration.target(target);
+        }
+        return configuration.load();
+    }
+    
+    private void insertHistory(long taskId, int status, String changedAt) {
+        jdbc.update("INSERT INTO task_status_history (task_id, status, changed_at, changed_by) " +
+                "VALUES (?, ?, CAST(? AS TIMESTAMP), 'alice')", taskId, status, changedAt);
+    }
+}
@@ -0,0 +1,147 @@
+package com.taskmgmt.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketRateLimiterTest {
+    // 60 per minute: one token per second
+    private static final long TOKEN_NANOS = TimeUnit.SECONDS.toNanos(1);
+    
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    
+    @Test
+    void allowsCapacityThenReportsWaitUntilNextToken() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 60, 100, clock::get);
+        
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("a")).isZero();
+        }
+        assertThat(limiter.tryAcquire("a")).isEqualTo(TOKEN_NANOS);
+        
+        clock.addAndGet(TOKEN_NANOS / 4);
+        assertThat(limiter.tryAcquire("a")).isEqualTo(TOKEN_NANOS - TOKEN_NANOS / 4);
+    }
+    
+    @Test
+    void refillsOneTokenPerInterval() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 60, 100, clock::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("a");
+        assertThat(limiter.tryAcquire("a")).isPositive();
+        
+        clock.addAndGet(TOKEN_NANOS);
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+    }
+    
+    @Test
+    void refillIsCappedAtCapacity() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 60, 100, clock::get);
+        limiter.tryAcquire("a");
+        
+        // A long idle period refills to capacity, not beyond it
+        clock.addAndGet(TOKEN_NANOS * 100);
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+    }
+    
+    @Test
+    void rejectedAttemptsDoNotConsumeCredit() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 60, 100, clock::get);
+        limiter.tryAcquire("a");
+        
+        for (int i = 0; i < 4; i++) {
+            clock.addAndGet(TOKEN_NANOS / 5);
+            assertThat(limiter.tryAcquire("a")).isPositive();
+        }
+        clock.addAndGet(TOKEN_NANOS / 5);
+        assertThat(limiter.tryAcquire("a")).isZero();
+    }
+    
+    @Test
+    void keysHaveSeparateBuckets() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 60, 100, clock::get);
+        
+        // "Aa" and "BB" have the same String.hashCode
+        assertThat(limiter.tryAcquire("Aa")).isZero();
+        assertThat(limiter.tryAcquire("BB")).isZero();
+        assertThat(limiter.tryAcquire("Aa")).isPositive();
+        assertThat(limiter.tryAcquire("BB")).isPositive();
+    }
+    
+    @Test
+    void longKeysHaveSeparateBuckets() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 60, 100, clock::get);
+        
+        assertThat(limiter.tryAcquire(1L)).isZero();
+        assertThat(limiter.tryAcquire(1L << 32)).isZero();
+        assertThat(limiter.tryAcquire(1L)).isPositive();
+        assertThat(limiter.tryAcquire(1L << 32)).isPositive();
+    }
+    
+    @Test
+    void manyKeysKeepTheirOwnBuckets() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 60, 100_000, clock::get);
+        for (long key = 0; key < 10_000; key++) {
+            assertThat(limiter.tryAcquire(key)).isZero();
+            assertThat(limiter.tryAcquire("user" + key)).isZero();
+        }
+        for (long key = 0; key < 10_000; key++) {
+            assertThat(limiter.tryAcquire(key)).isPositive();
+            assertThat(limiter.tryAcquire("user" + key)).isPositive();
+        }
+    }
+    
+    @Test
+    void floodOfKeysReusesSlotsBeyondMaxKeys() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 60, 100, clock::get);
+        
+        // Far more keys than the table holds: each still gets a bucket, oldest ones are reassigned
+        for (long key = 0; key < 100_000; key++) {
+            assertThat(limiter.tryAcquire(key)).isZero();
+        }
+        assertThat(limiter.tryAcquire(100_000L)).isZero();
+        assertThat(limiter.tryAcquire(100_000L)).isPositive();
+    }
+    
+    @Test
+    void refundReturnsOneToken() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 60, 100, clock::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("a");
+        assertThat(limiter.tryAcquire("a")).isPositive();
+        
+        limiter.refund("a");
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+        
+        // Never above capacity, and unknown keys are ignored
+        clock.addAndGet(TOKEN_NANOS * 10);
+        limiter.refund("a");
+        limiter.refund("b");
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+    }
+    
+    @Test
+    void rejectsNonPositiveLimits() {
+        assertThatThrownBy(() -> new TokenBucketRateLimiter(0, 60, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucketRateLimiter(1, 0, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    void retryAfterRoundsUpToWholeSeconds() {
+        assertThat(TokenBucketRateLimiter.toRetryAfterSeconds(0L)).isEqualTo(1L);
+        assertThat(TokenBucketRateLimiter.toRetryAfterSeconds(TOKEN_NANOS)).isEqualTo(1L);
+        assertThat(TokenBucketRateLimiter.toRetryAfterSeconds(TOKEN_NANOS + 1)).isEqualTo(2L);
+    }
+}
@@ -0,0 +1,236 @@
+package com.taskmgmt.service;
+
+import com.taskmgmt.dto.ActivityItem;
+import com.taskmgmt.dto.ActivityItem.Kind;
+import com.taskmgmt.dto.ActivityPage;
+import com.taskmgmt.event.TaskChangedEvent;
+import com.taskmgmt.event.TaskChangedEvent.Type;
+import com.taskmgmt.model.Task.TaskStatus;
+import com.taskmgmt.repository.CommentRepository;
+import com.taskmgmt.repository.TaskAssignmentEventRepository;
+import com.taskmgmt.repository.TaskStatusEventRepository;
+import com.taskmgmt.security.ProjectMembershipIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ActivityFeedServiceTest {
+    private static final long PROJECT_ID = 1L;
+    private static final long MEMBER_ID = 10L;
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 1, 12, 0);
+    
+    private final List<Object[]> commentRows = new ArrayList<>();
+    private final List<Object[]> statusRows = new ArrayList<>();
+    private final List<Object[]> assignmentRows = new ArrayList<>();
+    private final List<ActivityItem> expected = new ArrayList<>();
+    
+    private ActivityFeedService service;
+    
+    @BeforeEach
+    void setUp() {
+        CommentRepository commentRepository = mock(CommentRepository.class);
+        TaskStatusEventRepository statusRepository = mock(TaskStatusEventRepository.class);
+        TaskAssignmentEventRepository assignmentRepository = mock(TaskAssignmentEventRepository.class);
+        ProjectMembershipIndex membershipIndex = mock(ProjectMembershipIndex.class);
+        when(membershipIndex.isOwnerOrMember(PROJECT_ID, MEMBER_ID)).thenReturn(true);
+        when(commentRepository.findFeedPage(eq(PROJECT_ID), any(), anyLong(), any()))
+                .thenAnswer(invocation -> feedPage(commentRows, invocation));
+        when(statusRepository.findFeedPage(eq(PROJECT_ID), any(), anyLong(), any()))
+                .thenAnswer(invocation -> feedPage(statusRows, invocation));
+        when(assignmentRepository.findFeedPage(eq(PROJECT_ID), any(), anyLong(), any()))
+                .thenAnswer(invocation -> feedPage(assignmentRows, invocation));
+        
+        service = new ActivityFeedService(commentRepository, statusRepository, assignmentRepository, membershipIndex);
+        ReflectionTestUtils.setField(service, "bufferSize", 5);
+        ReflectionTestUtils.setField(service, "maxBufferedProjects", 10L);
+        service.init();
+        
+        // Few distinct instants, so many entries tie on time across and within kinds
+        for (long id = 1; id <= 12; id++) {
+            LocalDateTime at = T0.plusMinutes(id % 4);
+            commentRows.add(new Object[]{id, 100L + id, "alice", at, "comment " + id});
+            expected.add(item(Kind.COMMENT, id, at));
+        }
+        for (long id = 1; id <= 9; id++) {
+            LocalDateTime at = T0.plusMinutes(id % 3);
+            statusRows.add(new Object[]{id, 100L + id, "bob", at, TaskStatus.TODO, TaskStatus.IN_PROGRESS});
+            expected.add(item(Kind.STATUS_CHANGE, id, at));
+        }
+        for (long id = 1; id <= 7; id++) {
+            LocalDateTime at = T0.plusMinutes(id % 2);
+            assignmentRows.add(new Object[]{id, 100L + id, "carol", at, null, MEMBER_ID});
+            expected.add(item(Kind.ASSIGNMENT, id, at));
+        }
+        expected.sort(Comparator.comparing(ActivityItem::getOccurredAt).reversed()
+                .thenComparing(Comparator.comparing(ActivityItem::getKind).reversed())
+                .thenComparing(Comparator.comparing(ActivityItem::getId).reversed()));
+    }
+    
+    @Test
+    void pagesFromTheBufferWalkTheWholeFeedInOrder() {
+        assertThat(keys(readAll(3))).containsExactlyElementsOf(keys(expected));
+    }
+    
+    @Test
+    void pagesLargerThanTheBufferWalkTheWholeFeedInOrder() {
+        assertThat(keys(readAll(7))).containsExactlyElementsOf(keys(expected));
+    }
+    
+    @Test
+    void singlePageHoldingEverythingHasNoCursor() {
+        ActivityPage page = service.findPage(PROJECT_ID, null, 100, MEMBER_ID);
+        
+        assertThat(keys(page.getItems())).containsExactlyElementsOf(keys(expected));
+        assertThat(page.getNextCursor()).isNull();
+    }
+    
+    @Test
+    void newEntriesAreAppendedToTheBufferAfterCommit() {
+        service.findPage(PROJECT_ID, null, 3, MEMBER_ID);
+        LocalDateTime at = T0.plusMinutes(10);
+        commentRows.add(new Object[]{13L, 113L, "alice", at, "comment 13"});
+        expected.add(0, item(Kind.COMMENT, 13L, at));
+        
+        service.onTaskChanged(TaskChangedEvent.of(Type.COMMENTED, PROJECT_ID, 113L, MEMBER_ID));
+        
+        assertThat(keys(service.findPage(PROJECT_ID, null, 3, MEMBER_ID).getItems()))
+                .containsExactlyElementsOf(keys(expected.subList(0, 3)));
+        assertThat(keys(readAll(3))).containsExactlyElementsOf(keys(expected));
+    }
+    
+    @Test
+    void editedCommentsAreReloaded() {
+        service.findPage(PROJECT_ID, null, 3, MEMBER_ID);
+        // Comment 11 is the newest entry, so it is buffered
+        commentRows.get(10)[4] = "edited";
+        
+        service.onTaskChanged(TaskChangedEvent.of(Type.COMMENT_EDITED, PROJECT_ID, 111L, MEMBER_ID));
+        
+        assertThat(service.findPage(PROJECT_ID, null, 3, MEMBER_ID).getItems())
+                .filteredOn(i -> i.getKind() == Kind.COMMENT && i.getId() == 11L)
+                .extracting(ActivityItem::getContent)
+                .containsExactly("edited");
+    }
+    
+    @Test
+    void mapsRowsOfEachKind() {
+        List<ActivityItem> items = service.findPage(PROJECT_ID, null, 100, MEMBER_ID).getItems();
+        
+        ActivityItem status = items.stream().filter(i -> i.getKind() == Kind.STATUS_CHANGE).findFirst().orElseThrow();
+        assertThat(status.getFromStatus()).isEqualTo("TODO");
+        assertThat(status.getToStatus()).isEqualTo("IN_PROGRESS");
+        assertThat(status.getActor()).isEqualTo("bob");
+        
+        ActivityItem assignment = items.stream().filter(i -> i.getKind() == Kind.ASSIGNMENT).findFirst().orElseThrow();
+        assertThat(assignment.getPreviousAssigneeId()).isNull();
+        assertThat(assignment.getAssigneeId()).isEqualTo(MEMBER_ID);
+        
+        ActivityItem comment = items.stream().filter(i -> i.getKind() == Kind.COMMENT).findFirst().orElseThrow();
+        assertThat(comment.getContent()).startsWith("comment ");
+        assertThat(comment.getTaskId()).isEqualTo(100L + comment.getId());
+    }
+    
+    @Test
+    void rejectsNonMembers() {
+        assertThatThrownBy(() -> service.findPage(PROJECT_ID, null, 10, MEMBER_ID + 1))
+                .isInstanceOf(SecurityException.class);
+    }
+    
+    @Test
+    void cursorRoundTrips() {
+        ActivityItem item = item(Kind.STATUS_CHANGE, 42L, T0.plusSeconds(7).plusNanos(123_000_000));
+        
+        ActivityItem decoded = ActivityFeedService.decode(ActivityFeedService.encode(item));
+        
+        assertThat(decoded.getOccurredAt()).isEqualTo(item.getOccurredAt());
+        assertThat(decoded.getKind()).isEqualTo(Kind.STATUS_CHANGE);
+        assertThat(decoded.getId()).isEqualTo(42L);
+    }
+    
+    @Test
+    void malformedCursorsAreRejected() {
+        for (String cursor : List.of("", "2026-03-01T12:00~COMMENT", "2026-03-01T12:00~COMMENT~1~2",
+                "yesterday~COMMENT~1", "2026-03-01T12:00~LIKE~1", "2026-03-01T12:00~COMMENT~one")) {
+            assertThatThrownBy(() -> ActivityFeedService.decode(cursor))
+                    .as(cursor)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Malformed activity cursor");
+        }
+    }
+    
+    @Test
+    void mergeBreaksTimeTiesByKindThenId() {
+        List<ActivityItem> comments = List.of(item(Kind.COMMENT, 9L, T0), item(Kind.COMMENT, 3L, T0));
+        List<ActivityItem> statuses = List.of(item(Kind.STATUS_CHANGE, 5L, T0.plusMinutes(1)), item(Kind.STATUS_CHANGE, 4L, T0));
+        List<ActivityItem> assignments = List.of(item(Kind.ASSIGNMENT, 1L, T0));
+        
+        List<ActivityItem> merged = ActivityFeedService.mergeSorted(List.of(comments, statuses, assignments), 10);
+        
+        assertThat(keys(merged)).containsExactly(
+                "STATUS_CHANGE:5", "ASSIGNMENT:1", "STATUS_CHANGE:4", "COMMENT:9", "COMMENT:3");
+    }
+    
+    @Test
+    void mergeStopsAtTheLimitAndHandlesEmptySources() {
+        List<ActivityItem> comments = List.of(item(Kind.COMMENT, 2L, T0.plusMinutes(2)), item(Kind.COMMENT, 1L, T0));
+        List<ActivityItem> statuses = List.of(item(Kind.STATUS_CHANGE, 1L, T0.plusMinutes(1)));
+        
+        assertThat(keys(ActivityFeedService.mergeSorted(List.of(comments, List.of(), statuses), 2)))
+                .containsExactly("COMMENT:2", "STATUS_CHANGE:1");
+        assertThat(ActivityFeedService.mergeSorted(List.of(List.of(), List.of()), 5)).isEmpty();
+    }
+    
+    private List<ActivityItem> readAll(int pageSize) {
+        List<ActivityItem> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            // A cursor that fails to advance would otherwise page forever
+            assertThat(all).as("items read so far").hasSizeLessThanOrEqualTo(expected.size());
+            ActivityPage page = service.findPage(PROJECT_ID, cursor, pageSize, MEMBER_ID);
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(pageSize);
+            all.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return all;
+    }
+    
+    /**
+     * The repositories' keyset query: rows strictly before (before, beforeId), newest first.
+     */
+    private static List<Object[]> feedPage(List<Object[]> rows, InvocationOnMock invocation) {
+        LocalDateTime before = invocation.getArgument(1);
+        long beforeId = invocation.getArgument(2);
+        Pageable limit = invocation.getArgument(3);
+        return rows.stream()
+                .filter(row -> ((LocalDateTime) row[3]).isBefore(before)
+                        || (((LocalDateTime) row[3]).isEqual(before) && (Long) row[0] < beforeId))
+                .sorted(Comparator.comparing((Object[] row) -> (LocalDateTime) row[3])
+                        .thenComparing(row -> (Long) row[0]).reversed())
+                .limit(limit.getPageSize())
+                .collect(Collectors.toList());
+    }
+    
+    private static ActivityItem item(Kind kind, long id, LocalDateTime at) {
+        return ActivityItem.builder().kind(kind).id(id).occurredAt(at).build();
+    }
+    
+    private static List<String> keys(List<ActivityItem> items) {
+        return items.stream().map(i -> i.getKind() + ":" + i.getId()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,224 @@
+package com.taskmgmt.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompressedBitmapTest {
+    // Values per container before it switches from a sorted array to a bitmap
+    private static final int ARRAY_MAX = 4096;
+    private static final long CONTAINER = 1L << 16;
+    
+    @Test
+    void emptyBitmap() {
+        CompressedBitmap empty = new CompressedBitmap();
+        
+        assertThat(empty.isEmpty()).isTrue();
+        assertThat(empty.cardinality()).isZero();
+        assertThat(empty.contains(0L)).isFalse();
+        assertThat(ids(empty, -1L)).isEmpty();
+        assertThat(empty.and(bitmapOf(1L, 2L)).isEmpty()).isTrue();
+        assertThat(ids(empty.or(bitmapOf(1L, 2L)), -1L)).containsExactly(1L, 2L);
+        assertThat(empty.andCardinality(bitmapOf(1L))).isZero();
+        
+        empty.remove(5L);
+        assertThat(empty.isEmpty()).isTrue();
+    }
+    
+    @Test
+    void addIsIdempotentAndRemoveOfAbsentIdIsNoOp() {
+        CompressedBitmap bitmap = bitmapOf(7L, 7L, 7L);
+        bitmap.remove(8L);
+        bitmap.remove(7L + CONTAINER);
+        
+        assertThat(bitmap.cardinality()).isEqualTo(1L);
+        assertThat(bitmap.contains(7L)).isTrue();
+    }
+    
+    @Test
+    void removingTheLastValueDropsTheContainer() {
+        CompressedBitmap bitmap = bitmapOf(1L, CONTAINER + 1, 2 * CONTAINER + 1);
+        
+        bitmap.remove(CONTAINER + 1);
+        assertThat(ids(bitmap, -1L)).containsExactly(1L, 2 * CONTAINER + 1);
+        
+        bitmap.remove(1L);
+        bitmap.remove(2 * CONTAINER + 1);
+        assertThat(bitmap.isEmpty()).isTrue();
+        
+        // The emptied bitmap is still usable
+        bitmap.add(CONTAINER);
+        assertThat(ids(bitmap, -1L)).containsExactly(CONTAINER);
+    }
+    
+    @Test
+    void convertsArrayToBitmapAndBackAtTheThreshold() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        NavigableSet<Long> expected = new TreeSet<>();
+        // Every third low value, so the container stays sparse-looking either way
+        for (long low = 0; expected.size() <= ARRAY_MAX; low += 3) {
+            bitmap.add(low);
+            expected.add(low);
+        }
+        assertThat(bitmap.cardinality()).isEqualTo(ARRAY_MAX + 1);
+        assertMatches(bitmap, expected);
+        
+        // Back to ARRAY_MAX values converts to an array container
+        long removed = expected.pollFirst();
+        bitmap.remove(removed);
+        assertThat(bitmap.contains(removed)).isFalse();
+        assertMatches(bitmap, expected);
+        
+        // And over the threshold again
+        bitmap.add(1L);
+        expected.add(1L);
+        assertMatches(bitmap, expected);
+    }
+    
+    @Test
+    void fullAndEmptyWords() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        NavigableSet<Long> expected = new TreeSet<>();
+        // Whole container: every 64-bit word is full
+        for (long id = CONTAINER; id < 2 * CONTAINER; id++) {
+            bitmap.add(id);
+            expected.add(id);
+        }
+        assertThat(bitmap.cardinality()).isEqualTo(CONTAINER);
+        assertThat(bitmap.contains(CONTAINER - 1)).isFalse();
+        assertThat(bitmap.contains(2 * CONTAINER)).isFalse();
+        
+        // Clear one whole word in the middle and the first and last bits of its neighbours
+        for (long id = CONTAINER + 640; id < CONTAINER + 704; id++) {
+            bitmap.remove(id);
+            expected.remove(id);
+        }
+        for (long id : new long[]{CONTAINER + 639, CONTAINER + 704, CONTAINER, 2 * CONTAINER - 1}) {
+            bitmap.remove(id);
+            expected.remove(id);
+        }
+        assertMatches(bitmap, expected);
+        
+        // forEachAfter starting inside, at the edge of, and just past the empty word
+        assertThat(first(bitmap, CONTAINER + 600, 3)).containsExactly(CONTAINER + 601, CONTAINER + 602, CONTAINER + 603);
+        assertThat(first(bitmap, CONTAINER + 630, 10)).containsExactly(
+                CONTAINER + 631, CONTAINER + 632, CONTAINER + 633, CONTAINER + 634, CONTAINER + 635,
+                CONTAINER + 636, CONTAINER + 637, CONTAINER + 638, CONTAINER + 705, CONTAINER + 706);
+        assertThat(first(bitmap, CONTAINER + 703, 1)).containsExactly(CONTAINER + 705);
+        assertThat(first(bitmap, CONTAINER + 767, 1)).containsExactly(CONTAINER + 768);
+    }
+    
+    @Test
+    void forEachAfterCrossesContainerBoundaries() {
+        CompressedBitmap bitmap = bitmapOf(CONTAINER - 1, CONTAINER, 3 * CONTAINER + 5);
+        
+        assertThat(ids(bitmap, -1L)).containsExactly(CONTAINER - 1, CONTAINER, 3 * CONTAINER + 5);
+        assertThat(ids(bitmap, CONTAINER - 1)).containsExactly(CONTAINER, 3 * CONTAINER + 5);
+        assertThat(ids(bitmap, CONTAINER)).containsExactly(3 * CONTAINER + 5);
+        assertThat(ids(bitmap, 2 * CONTAINER)).containsExactly(3 * CONTAINER + 5);
+        assertThat(ids(bitmap, 3 * CONTAINER + 5)).isEmpty();
+    }
+    
+    @Test
+    void andOrAcrossArrayAndBitmapContainers() {
+        Random random = new Random(17);
+        NavigableSet<Long> dense = new TreeSet<>();
+        NavigableSet<Long> sparse = new TreeSet<>();
+        NavigableSet<Long> otherDense = new TreeSet<>();
+        for (int i = 0; i < 20_000; i++) {
+            dense.add((long) random.nextInt(3 * (int) CONTAINER));
+            otherDense.add(CONTAINER + random.nextInt(3 * (int) CONTAINER));
+        }
+        for (int i = 0; i < 500; i++) {
+            sparse.add((long) random.nextInt(4 * (int) CONTAINER));
+        }
+        
+        List<NavigableSet<Long>> sets = List.of(dense, sparse, otherDense);
+        for (NavigableSet<Long> a : sets) {
+            for (NavigableSet<Long> b : sets) {
+                CompressedBitmap left = bitmapOf(a);
+                CompressedBitmap right = bitmapOf(b);
+                
+                NavigableSet<Long> intersection = new TreeSet<>(a);
+                intersection.retainAll(b);
+                NavigableSet<Long> union = new TreeSet<>(a);
+                union.addAll(b);
+                
+                assertMatches(left.and(right), intersection);
+                assertThat(left.andCardinality(right)).isEqualTo(intersection.size());
+                assertMatches(left.or(right), union);
+                
+                // Operands are left untouched
+                assertMatches(left, a);
+                assertMatches(right, b);
+            }
+        }
+    }
+    
+    @Test
+    void resultsDoNotShareContainersWithOperands() {
+        CompressedBitmap left = bitmapOf(1L, 2L);
+        CompressedBitmap right = bitmapOf(CONTAINER + 1);
+        CompressedBitmap union = left.or(right);
+        
+        union.add(3L);
+        union.remove(CONTAINER + 1);
+        
+        assertThat(ids(left, -1L)).containsExactly(1L, 2L);
+        assertThat(ids(right, -1L)).containsExactly(CONTAINER + 1);
+    }
+    
+    @Test
+    void forEachAfterStopsWhenTheVisitorDeclines() {
+        CompressedBitmap bitmap = bitmapOf(1L, 2L, 3L, CONTAINER + 1);
+        
+        assertThat(first(bitmap, -1L, 2)).containsExactly(1L, 2L);
+    }
+    
+    @Test
+    void rejectsNegativeIds() {
+        assertThatThrownBy(() -> new CompressedBitmap().add(-1L)).isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    private static void assertMatches(CompressedBitmap bitmap, NavigableSet<Long> expected) {
+        assertThat(bitmap.cardinality()).isEqualTo(expected.size());
+        assertThat(bitmap.isEmpty()).isEqualTo(expected.isEmpty());
+        assertThat(ids(bitmap, -1L)).containsExactlyElementsOf(expected);
+    }
+    
+    private static CompressedBitmap bitmapOf(long... ids) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (long id : ids) {
+            bitmap.add(id);
+        }
+        return bitmap;
+    }
+    
+    private static CompressedBitmap bitmapOf(NavigableSet<Long> ids) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        ids.forEach(bitmap::add);
+        return bitmap;
+    }
+    
+    private static List<Long> ids(CompressedBitmap bitmap, long afterId) {
+        List<Long> ids = new ArrayList<>();
+        bitmap.forEachAfter(afterId, ids::add);
+        return ids;
+    }
+    
+    private static List<Long> first(CompressedBitmap bitmap, long afterId, int limit) {
+        List<Long> ids = new ArrayList<>();
+        bitmap.forEachAfter(afterId, id -> {
+            ids.add(id);
+            return ids.size() < limit;
+        });
+        return ids;
+    }
+}
@@ -0,0 +1,137 @@
+package com.taskmgmt.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongLongMapTest {
+    
+    @Test
+    void missingKeysReturnTheDefault() {
+        LongLongMap map = new LongLongMap();
+        map.put(1L, 10L);
+        
+        assertThat(map.get(2L, -1L)).isEqualTo(-1L);
+        assertThat(map.get(0L, -1L)).isEqualTo(-1L);
+        assertThat(map.size()).isEqualTo(1);
+    }
+    
+    @Test
+    void overwriteKeepsTheSize() {
+        LongLongMap map = new LongLongMap();
+        map.put(5L, 1L);
+        map.put(5L, 2L);
+        map.put(5L, 0L);
+        
+        assertThat(map.get(5L, -1L)).isZero();
+        assertThat(map.size()).isEqualTo(1);
+    }
+    
+    @Test
+    void keyZeroIsReserved() {
+        LongLongMap map = new LongLongMap();
+        
+        assertThatThrownBy(() -> map.put(0L, 1L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> map.putIfGreater(0L, 1L)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(map.size()).isZero();
+    }
+    
+    @Test
+    void resizeKeepsEveryEntry() {
+        // Starts at the minimum capacity and grows many times
+        LongLongMap map = new LongLongMap(1);
+        int count = 50_000;
+        for (long i = 1; i <= count; i++) {
+            map.put(key(i), i);
+        }
+        
+        assertThat(map.size()).isEqualTo(count);
+        for (long i = 1; i <= count; i++) {
+            assertThat(map.get(key(i), -1L)).isEqualTo(i);
+        }
+        assertThat(map.get(key(count + 1), -1L)).isEqualTo(-1L);
+    }
+    
+    @Test
+    void putIfGreaterNeverMovesBackwards() {
+        LongLongMap map = new LongLongMap();
+        
+        map.putIfGreater(7L, 3L);
+        assertThat(map.get(7L, 0L)).isEqualTo(3L);
+        
+        map.putIfGreater(7L, 2L);
+        map.putIfGreater(7L, 3L);
+        assertThat(map.get(7L, 0L)).isEqualTo(3L);
+        
+        map.putIfGreater(7L, 4L);
+        assertThat(map.get(7L, 0L)).isEqualTo(4L);
+        assertThat(map.size()).isEqualTo(1);
+    }
+    
+    @Test
+    void putIfGreaterResizesLikePut() {
+        LongLongMap map = new LongLongMap(1);
+        for (long i = 1; i <= 10_000; i++) {
+            map.putIfGreater(key(i), i);
+        }
+        
+        assertThat(map.size()).isEqualTo(10_000);
+        for (long i = 1; i <= 10_000; i++) {
+            assertThat(map.get(key(i), -1L)).isEqualTo(i);
+        }
+    }
+    
+    @Test
+    void readersSeeConsistentValuesDuringResizes() throws Exception {
+        LongLongMap map = new LongLongMap(1);
+        int count = 200_000;
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService readers = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int r = 0; r < 3; r++) {
+                results.add(readers.submit(() -> {
+                    long misreads = 0;
+                    while (!done.get()) {
+                        for (long i = 1; i <= count; i += 997) {
+                            long value = map.get(i, -1L);
+                            // Either not inserted yet, or exactly what the writer stored
+                            if (value != -1L && value != i * 2) {
+                                misreads++;
+                            }
+                        }
+                    }
+                    return misreads;
+                }));
+            }
+            
+            for (long i = 1; i <= count; i++) {
+                map.put(i, i * 2);
+            }
+            done.set(true);
+            for (Future<Long> result : results) {
+                assertThat(result.get(30, TimeUnit.SECONDS)).isZero();
+            }
+        } finally {
+            done.set(true);
+            readers.shutdownNow();
+        }
+        assertThat(map.size()).isEqualTo(count);
+    }
+    
+    /**
+     * Spread over positive and negative keys, with many sharing low bits.
+     */
+    private static long key(long i) {
+        return (i % 2 == 0 ? -i : i) << 20;
+    }
+}